@@ -0,0 +1,119 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Closed-loop keep-alive load against a running gateway.
+ *
+ *   java gateway/load-test/GatewayLoadTest.java --url=http://localhost:8080/users/1 --threads=32 --requests=300
+ *
+ * Every thread sends its requests back to back over its own keep-alive
+ * connection. After a warm-up round, the program prints throughput, latency
+ * percentiles and the number of non-2xx or failed requests.
+ */
+public class GatewayLoadTest {
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080/users/1"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "32"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "300"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "50"));
+        String userId = options.getOrDefault("user", "1");
+
+        run(uri, userId, threads, warmup);
+        long started = System.nanoTime();
+        Result result = run(uri, userId, threads, requests);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] latencies = result.latencies;
+        Arrays.sort(latencies);
+        System.out.printf("%s threads=%d requests=%d%n", uri, threads, latencies.length);
+        System.out.printf("throughput %.0f req/s, errors %d%n", latencies.length / seconds, result.errors);
+        System.out.printf("latency ms: p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static Result run(URI uri, String userId, int threads, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("X-Sharer-User-Id", userId)
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build();
+                Result result = new Result(requests);
+                start.await();
+                for (int i = 0; i < requests; i++) {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() / 100 != 2) {
+                            result.errors++;
+                        }
+                    } catch (Exception e) {
+                        result.errors++;
+                    }
+                    result.latencies[i] = System.nanoTime() - begin;
+                }
+                return result;
+            }));
+        }
+        start.countDown();
+        Result total = new Result(threads * requests);
+        int position = 0;
+        for (Future<Result> future : futures) {
+            Result result = future.get();
+            System.arraycopy(result.latencies, 0, total.latencies, position, result.latencies.length);
+            position += result.latencies.length;
+            total.errors += result.errors;
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return total;
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 2) {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private int errors;
+
+        private Result(int requests) {
+            this.latencies = new long[requests];
+        }
+    }
+}
@@ -30,9 +30,14 @@ public class BookingController {
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        if (after != null) {
+            log.info("Get booking with state {}, userId={}, after={}, size={}", stateParam, userId, after, size);
+            return bookingClient.getBookingsAfter(userId, state, after, size);
+        }
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
         return bookingClient.getBookings(userId, state, from, size);
     }
@@ -43,13 +48,24 @@ public class BookingController {
                                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                                              Integer from,
                                                          @Positive @RequestParam(name = "size", defaultValue = "10")
-                                                             Integer size) {
+                                                             Integer size,
+                                                         @RequestParam(name = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        if (after != null) {
+            log.info("Get booking owner with state {}, userId={}, after={}, size={}", stateParam, userId, after, size);
+            return bookingClient.getBookingCurrentOwnerAfter(userId, state, after, size);
+        }
         log.info("Get booking owner with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
         return bookingClient.getBookingCurrentOwner(userId, state, from, size);
     }
 
+    @GetMapping("/owner/export")
+    public ResponseEntity<Object> exportBookingsOwner(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Export bookings owner, userId={}", userId);
+        return bookingClient.exportBookingsOwner(userId);
+    }
+
     @PostMapping
     public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
                                            @RequestBody @Valid BookItemRequestDto requestDto) {
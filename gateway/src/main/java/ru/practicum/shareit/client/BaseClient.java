@@ -1,22 +1,40 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
     protected final RestTemplate rest;
+    private final EtagResponseCache etagCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable EtagResponseCache etagCache) {
         this.rest = rest;
+        this.etagCache = etagCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +49,49 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId) {
+        URI uri = rest.getUriTemplateHandler().expand(path);
+        String key = uri.toString();
+        EtagResponseCache.Entry cached = etagCache.get(userId, key);
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getETag());
+        }
+
+        try {
+            ClientHttpResponse response = execute(HttpMethod.GET, uri, new HttpEntity<>(headers));
+            if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                response.close();
+                return cachedResponse(cached);
+            }
+            String eTag = response.getHeaders().getETag();
+            if (response.getRawStatusCode() != HttpStatus.OK.value() || eTag == null) {
+                etagCache.evict(userId, key);
+                return prepareGatewayResponse(response);
+            }
+            try (response) {
+                cached = new EtagResponseCache.Entry(eTag, response.getHeaders().getContentType(),
+                        StreamUtils.copyToByteArray(response.getBody()));
+            }
+            etagCache.put(userId, key, cached);
+            return cachedResponse(cached);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    protected ResponseEntity<ResponseBodyEmitter> stream(String path, long userId, ServerStreams streams) {
+        URI uri = rest.getUriTemplateHandler().expand(path);
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON));
+
+        try {
+            return streams.open(uri, headers);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -81,41 +142,59 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(execute(method, uri, requestEntity));
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": " + e.getMessage(), e);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private ClientHttpResponse execute(HttpMethod method, URI uri, HttpEntity<?> requestEntity) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+        rest.httpEntityCallback(requestEntity).doWithRequest(request);
+        return request.execute();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    static HttpHeaders gatewayHeaders(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode())
+                .headers(gatewayHeaders(response));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (response.getRawStatusCode() == HttpStatus.NO_CONTENT.value()
+                || response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()
+                || response.getHeaders().getContentLength() == 0) {
+            response.close();
+            return responseBuilder.build();
         }
 
-        return responseBuilder.build();
+        return responseBuilder.body(new InputStreamResource(response.getBody()));
+    }
+
+    private static ResponseEntity<Object> cachedResponse(EtagResponseCache.Entry cached) {
+        return ResponseEntity.ok()
+                .eTag(cached.getETag())
+                .contentType(cached.getContentType())
+                .body(cached.getBody());
     }
-}
\ No newline at end of file
+}
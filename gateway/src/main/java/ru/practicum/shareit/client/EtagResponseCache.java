@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class EtagResponseCache {
+    private final Cache<Long, Map<String, Entry>> users;
+    private final Cache<String, Entry> anonymous;
+    private final int maxEntriesPerUser;
+
+    public EtagResponseCache(@Value("${shareit-server.etag-cache.max-users:1000}") long maxUsers,
+                             @Value("${shareit-server.etag-cache.max-entries-per-user:64}") int maxEntriesPerUser,
+                             @Value("${shareit-server.etag-cache.max-anonymous-entries:10000}") long maxAnonymousEntries,
+                             @Value("${shareit-server.etag-cache.expire-after-access:10m}") Duration expireAfterAccess) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.anonymous = Caffeine.newBuilder()
+                .maximumSize(maxAnonymousEntries)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.maxEntriesPerUser = maxEntriesPerUser;
+    }
+
+    Entry get(Long userId, String uri) {
+        if (userId == null) {
+            return anonymous.getIfPresent(uri);
+        }
+        Map<String, Entry> entries = users.getIfPresent(userId);
+        if (entries == null) {
+            return null;
+        }
+        synchronized (entries) {
+            return entries.get(uri);
+        }
+    }
+
+    void put(Long userId, String uri, Entry entry) {
+        if (userId == null) {
+            anonymous.put(uri, entry);
+            return;
+        }
+        Map<String, Entry> entries = users.get(userId, key -> newUserEntries());
+        synchronized (entries) {
+            entries.put(uri, entry);
+        }
+    }
+
+    void evict(Long userId, String uri) {
+        if (userId == null) {
+            anonymous.invalidate(uri);
+            return;
+        }
+        Map<String, Entry> entries = users.getIfPresent(userId);
+        if (entries != null) {
+            synchronized (entries) {
+                entries.remove(uri);
+            }
+        }
+    }
+
+    private Map<String, Entry> newUserEntries() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntriesPerUser;
+            }
+        };
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Entry {
+        private final String eTag;
+        private final MediaType contentType;
+        private final byte[] body;
+    }
+}
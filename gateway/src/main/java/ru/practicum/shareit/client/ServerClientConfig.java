@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ServerClientConfig {
+    private static final int VALIDATE_AFTER_INACTIVITY_MS = 2000;
+
+    @Bean
+    @Primary
+    public ClientHttpRequestFactory shareitServerRequestFactory(
+            @Value("${shareit-server.pool.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.pool.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.pool.acquire-timeout:1s}") Duration acquireTimeout,
+            @Value("${shareit-server.pool.read-timeout:30s}") Duration readTimeout,
+            @Value("${shareit-server.pool.idle-timeout:15s}") Duration idleTimeout) {
+        return pooledRequestFactory(maxConnections, connectTimeout, acquireTimeout, readTimeout, idleTimeout);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerStreamRequestFactory(
+            @Value("${shareit-server.stream.max-streams:100}") int maxStreams,
+            @Value("${shareit-server.pool.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.pool.acquire-timeout:1s}") Duration acquireTimeout,
+            @Value("${shareit-server.stream.read-timeout:45s}") Duration readTimeout,
+            @Value("${shareit-server.pool.idle-timeout:15s}") Duration idleTimeout) {
+        return pooledRequestFactory(maxStreams, connectTimeout, acquireTimeout, readTimeout, idleTimeout);
+    }
+
+    private static ClientHttpRequestFactory pooledRequestFactory(int maxConnections, Duration connectTimeout,
+                                                                 Duration acquireTimeout, Duration readTimeout,
+                                                                 Duration idleTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setConnectionRequestTimeout((int) acquireTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> idleTimeout.toMillis())
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .evictExpiredConnections()
+                .disableCookieManagement()
+                .disableAutomaticRetries()
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Component
+public class ServerStreams {
+    private final ClientHttpRequestFactory requestFactory;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    public ServerStreams(@Qualifier("shareitServerStreamRequestFactory") ClientHttpRequestFactory requestFactory,
+                         @Qualifier("applicationTaskExecutor") Executor executor,
+                         @Value("${shareit-server.stream.max-streams:100}") int maxStreams) {
+        this.requestFactory = requestFactory;
+        this.executor = executor;
+        this.permits = new Semaphore(maxStreams);
+    }
+
+    ResponseEntity<ResponseBodyEmitter> open(URI uri, HttpHeaders headers) throws IOException {
+        if (!permits.tryAcquire()) {
+            log.warn("Stream limit reached, rejecting {}", uri);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open streams");
+        }
+
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = requestFactory.createRequest(uri, HttpMethod.GET);
+            request.getHeaders().putAll(headers);
+            response = request.execute();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        StreamRelay relay = new StreamRelay(response, emitter, permits::release);
+        try {
+            executor.execute(relay);
+        } catch (RuntimeException e) {
+            log.warn("No thread to relay {}: {}", uri, e.getMessage());
+            relay.close();
+            emitter.completeWithError(e);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No thread to relay the stream", e);
+        }
+        return ResponseEntity.status(response.getRawStatusCode())
+                .headers(BaseClient.gatewayHeaders(response))
+                .body(emitter);
+    }
+}
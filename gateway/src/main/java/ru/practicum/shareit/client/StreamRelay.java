@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+@Slf4j
+class StreamRelay implements Runnable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ClientHttpResponse response;
+    private final ResponseBodyEmitter emitter;
+    private final Runnable onClose;
+    private final Object lock = new Object();
+    private boolean closed;
+
+    StreamRelay(ClientHttpResponse response, ResponseBodyEmitter emitter, Runnable onClose) {
+        this.response = response;
+        this.emitter = emitter;
+        this.onClose = onClose;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(e -> close());
+    }
+
+    @Override
+    public void run() {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            InputStream in = response.getBody();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                synchronized (lock) {
+                    if (closed) {
+                        return;
+                    }
+                    emitter.send(Arrays.copyOf(buffer, read));
+                }
+            }
+            synchronized (lock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                response.close();
+                emitter.complete();
+            }
+            onClose.run();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Stream relay stopped: {}", e.getMessage());
+            if (close()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    boolean close() {
+        synchronized (lock) {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+        }
+        try {
+            InputStream in = response.getBody();
+            if (in instanceof ConnectionReleaseTrigger) {
+                ((ConnectionReleaseTrigger) in).abortConnection();
+            } else {
+                response.close();
+            }
+        } catch (IOException e) {
+            log.debug("Failed to abort stream: {}", e.getMessage());
+        } finally {
+            onClose.run();
+        }
+        return true;
+    }
+}
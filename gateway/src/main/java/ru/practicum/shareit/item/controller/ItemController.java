@@ -11,8 +11,11 @@ import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 
 @Controller
 @RequestMapping("/items")
@@ -30,6 +33,12 @@ public class ItemController {
         return itemClient.getItems(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<Object> exportItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Export all items from user {}", userId);
+        return itemClient.exportItems(userId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> getItem(@PathVariable Long id,
                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
@@ -66,6 +75,13 @@ public class ItemController {
         return itemClient.searchItem(text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItem(@NotBlank @Size(max = 100) @RequestParam String prefix,
+                                              @Positive @Max(50) @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Suggest items by prefix {}", prefix);
+        return itemClient.suggestItem(prefix, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> createComment(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @Valid @RequestBody CommentRequestDto requestDto) {
@@ -3,10 +3,13 @@ package ru.practicum.shareit.request.client;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.EtagResponseCache;
+import ru.practicum.shareit.client.ServerStreams;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
 import java.util.Map;
@@ -15,12 +18,18 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    private final ServerStreams streams;
+
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, EtagResponseCache etagCache,
+                             ServerStreams streams) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                etagCache
         );
+        this.streams = streams;
     }
 
     public ResponseEntity<Object> getAll(long userId, int from, int size) {
@@ -30,6 +39,13 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getAllAfter(long userId, String after, int size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size);
+        return get("/all?after={after}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> createItemRequest(long userId, ItemRequestRequestDto requestDto) {
         return post("", userId, requestDto);
     }
@@ -38,7 +54,11 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
+    public ResponseEntity<ResponseBodyEmitter> streamItemRequests(long userId) {
+        return stream("/stream", userId, streams);
+    }
+
     public ResponseEntity<Object> getItemRequest(Long requestId, long userId) {
-        return get("/" + requestId, userId);
+        return getCached("/" + requestId, userId);
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestRequestDto;
 
@@ -37,11 +38,22 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                     @RequestParam(name = "after", required = false) String after) {
+        if (after != null) {
+            log.info("Get all item requests without user {}, after={}, size={}", userId, after, size);
+            return itemRequestClient.getAllAfter(userId, after, size);
+        }
         log.info("Get all item requests without user {}", userId);
         return itemRequestClient.getAll(userId, from, size);
     }
 
+    @GetMapping("/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamItemRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Stream new item requests for user {}", userId);
+        return itemRequestClient.streamItemRequests(userId);
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getItemRequest(@PathVariable Long requestId,
                                                  @RequestHeader("X-Sharer-User-Id") Long userId) {
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EtagResponseCacheTests {
+    @Test
+    void anonymousEntriesAreNotLimitedByUserBucketTest() {
+        EtagResponseCache cache = new EtagResponseCache(10, 2, 100, Duration.ofMinutes(10));
+        for (int i = 1; i <= 50; i++) {
+            cache.put(null, "/users/" + i, entry(i));
+        }
+        for (int i = 1; i <= 50; i++) {
+            assertNotNull(cache.get(null, "/users/" + i));
+        }
+    }
+
+    @Test
+    void userEntriesAreBoundedPerUserTest() {
+        EtagResponseCache cache = new EtagResponseCache(10, 2, 100, Duration.ofMinutes(10));
+        EtagResponseCache.Entry anonymous = entry(0);
+        cache.put(null, "/items/1", anonymous);
+        for (int i = 1; i <= 3; i++) {
+            cache.put(1L, "/items/" + i, entry(i));
+        }
+        assertNull(cache.get(1L, "/items/1"));
+        assertNotNull(cache.get(1L, "/items/3"));
+        assertNull(cache.get(2L, "/items/3"));
+        assertSame(anonymous, cache.get(null, "/items/1"));
+    }
+
+    @Test
+    void evictAnonymousEntryTest() {
+        EtagResponseCache cache = new EtagResponseCache(10, 2, 100, Duration.ofMinutes(10));
+        cache.put(null, "/users/1", entry(1));
+        cache.evict(null, "/users/1");
+        assertNull(cache.get(null, "/users/1"));
+    }
+
+    private static EtagResponseCache.Entry entry(int version) {
+        return new EtagResponseCache.Entry("\"" + version + "\"", MediaType.APPLICATION_JSON, new byte[0]);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServerStreamsTests {
+    private static final URI URI_STREAM = URI.create("http://localhost:9090/requests/stream");
+
+    @Test
+    void rejectedRelayReleasesConnectionAndPermitTest() throws Exception {
+        ClientHttpRequestFactory requestFactory = mock(ClientHttpRequestFactory.class);
+        ClientHttpRequest request = mock(ClientHttpRequest.class);
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(requestFactory.createRequest(any(), any())).thenReturn(request);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+        when(request.execute()).thenReturn(response);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        ServerStreams streams = new ServerStreams(requestFactory, command -> {
+            throw new RejectedExecutionException("pool is full");
+        }, 1);
+
+        for (int i = 0; i < 2; i++) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> streams.open(URI_STREAM, new HttpHeaders()));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+        verify(requestFactory, times(2)).createRequest(URI_STREAM, HttpMethod.GET);
+        verify(response, times(2)).close();
+    }
+
+    @Test
+    void streamLimitTest() throws Exception {
+        ClientHttpRequestFactory requestFactory = mock(ClientHttpRequestFactory.class);
+        ClientHttpRequest request = mock(ClientHttpRequest.class);
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(requestFactory.createRequest(any(), any())).thenReturn(request);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+        when(request.execute()).thenReturn(response);
+        when(response.getRawStatusCode()).thenReturn(200);
+        when(response.getHeaders()).thenReturn(new HttpHeaders());
+        ServerStreams streams = new ServerStreams(requestFactory, command -> {
+        }, 1);
+
+        assertEquals(200, streams.open(URI_STREAM, new HttpHeaders()).getStatusCodeValue());
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> streams.open(URI_STREAM, new HttpHeaders()));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        verify(requestFactory, times(1)).createRequest(URI_STREAM, HttpMethod.GET);
+    }
+}
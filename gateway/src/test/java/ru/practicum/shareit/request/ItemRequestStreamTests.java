@@ -0,0 +1,148 @@
+package ru.practicum.shareit.request;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"shareit-server.pool.max-connections=2", "shareit-server.stream.max-streams=3"})
+class ItemRequestStreamTests {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final ExecutorService upstreamExecutor = Executors.newCachedThreadPool();
+    private static HttpServer upstream;
+
+    @LocalServerPort
+    private int port;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<HttpResponse<InputStream>> streams = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/requests/stream", ItemRequestStreamTests::heartbeats);
+        upstream.createContext("/items", exchange -> respond(exchange, "[]"));
+        upstream.setExecutor(upstreamExecutor);
+        upstream.start();
+        registry.add("shareit-server.url", () -> "http://localhost:" + upstream.getAddress().getPort());
+    }
+
+    @AfterEach
+    void closeStreams() throws IOException {
+        for (HttpResponse<InputStream> stream : streams) {
+            stream.body().close();
+        }
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void openStreamsDoNotBlockOtherRequestsTest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<InputStream> stream = openStream();
+            streams.add(stream);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream.body(), StandardCharsets.UTF_8));
+            assertEquals(":heartbeat", assertTimeoutPreemptively(TIMEOUT, reader::readLine));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            HttpResponse<String> items = httpClient.send(HttpRequest.newBuilder(uri("/items"))
+                    .header("X-Sharer-User-Id", "1")
+                    .timeout(TIMEOUT)
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, items.statusCode());
+            assertEquals("[]", items.body());
+        }
+    }
+
+    @Test
+    void streamLimitTest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            streams.add(openStream());
+        }
+        HttpResponse<InputStream> rejected = subscribe();
+        rejected.body().close();
+        assertEquals(503, rejected.statusCode());
+
+        streams.remove(0).body().close();
+        streams.add(openStream());
+    }
+
+    private HttpResponse<InputStream> openStream() {
+        return assertTimeoutPreemptively(TIMEOUT, () -> {
+            HttpResponse<InputStream> stream;
+            while ((stream = subscribe()).statusCode() == 503) {
+                stream.body().close();
+                Thread.sleep(100);
+            }
+            assertEquals(200, stream.statusCode());
+            return stream;
+        });
+    }
+
+    private HttpResponse<InputStream> subscribe() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/requests/stream"))
+                .header("X-Sharer-User-Id", "1")
+                .header("Accept", "text/event-stream")
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void heartbeats(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < 300; i++) {
+                out.write(":heartbeat\n\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(100);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
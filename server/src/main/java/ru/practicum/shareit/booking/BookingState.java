@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import ru.practicum.shareit.exception.BadRequestException;
+
+@Getter
+public enum BookingState {
+    ALL(null),
+    CURRENT(null),
+    PAST(null),
+    FUTURE(null),
+    WAITING(Status.WAITING),
+    APPROVED(Status.APPROVED),
+    REJECTED(Status.REJECTED),
+    CANCELED(Status.CANCELED);
+
+    private final Status status;
+
+    BookingState(Status status) {
+        this.status = status;
+    }
+
+    public static BookingState from(String state) {
+        for (BookingState value : values()) {
+            if (value.name().equalsIgnoreCase(state)) {
+                return value;
+            }
+        }
+        throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+    }
+}
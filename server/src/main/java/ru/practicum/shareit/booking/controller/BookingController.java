@@ -1,22 +1,29 @@
 package ru.practicum.shareit.booking.controller;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonExporter;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
+    private final NdjsonExporter ndjsonExporter;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, NdjsonExporter ndjsonExporter) {
         this.bookingService = bookingService;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     @GetMapping
@@ -30,6 +37,17 @@ public class BookingController {
         return bookingService.getAllByUser(userId, state, from, size);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<List<BookingDto>> getAllByUserAfter(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam String after,
+                                                              @RequestParam(defaultValue = "10") int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Неверные параметры.");
+        }
+        return withNextCursor(bookingService.getAllByUserAfter(userId, state, after, size), size);
+    }
+
     @PostMapping
     public BookingDto create(@RequestBody BookingItemAndUserId bookingItemAndUserId,
                              @RequestHeader("X-Sharer-User-Id") Long userId) {
@@ -53,11 +71,36 @@ public class BookingController {
         return bookingService.getAllByOwner(userId, state, from, size);
     }
 
+    @GetMapping(path = "/owner", params = "after")
+    public ResponseEntity<List<BookingDto>> getAllByOwnerAfter(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(defaultValue = "ALL") String state,
+                                                               @RequestParam String after,
+                                                               @RequestParam(defaultValue = "10") int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Неверные параметры.");
+        }
+        return withNextCursor(bookingService.getAllByOwnerAfter(userId, state, after, size), size);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return ndjsonExporter.<BookingDto>export(consumer -> bookingService.exportAllByOwner(userId, consumer));
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getById(@PathVariable Long bookingId, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingService.getById(bookingId, userId);
     }
 
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, new PageCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(bookings);
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public NotFoundException.GetError handleIncorrectParameterException(BadRequestException e) {
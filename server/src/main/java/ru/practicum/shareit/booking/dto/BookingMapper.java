@@ -8,20 +8,20 @@ public class BookingMapper {
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
-                .booker(booking.getBooker())
+                .booker(new BookingDto.Booker(booking.getBooker().getId()))
                 .status(booking.getStatus())
-                .item(booking.getItem())
+                .item(new BookingDto.Item(booking.getItem().getId(), booking.getItem().getName()))
                 .build();
     }
 
-    public static Booking toBooking(BookingDto bookingDto) {
-        return Booking.builder()
-                .id(bookingDto.getId())
-                .start(bookingDto.getStart())
-                .end(bookingDto.getEnd())
-                .booker(bookingDto.getBooker())
-                .status(bookingDto.getStatus())
-                .item(bookingDto.getItem())
+    public static BookingDto toBookingDto(BookingView bookingView) {
+        return BookingDto.builder()
+                .id(bookingView.getId())
+                .start(bookingView.getStart())
+                .end(bookingView.getEnd())
+                .booker(new BookingDto.Booker(bookingView.getBookerId()))
+                .status(bookingView.getStatus())
+                .item(new BookingDto.Item(bookingView.getItemId(), bookingView.getItemName()))
                 .build();
     }
 
@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.item", attributeNodes = @NamedAttributeNode("item"))
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Booking {
     @Id
@@ -25,13 +26,24 @@ public class Booking {
     LocalDateTime start;
     @Column(name = "end_date", nullable = false)
     LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", referencedColumnName = "id", nullable = false)
     Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id", referencedColumnName = "id", nullable = false)
     User booker;
+    @Column(name = "owner_id", nullable = false)
+    Long ownerId;
     @Enumerated(EnumType.STRING)
     @Column(length = 10)
     Status status;
+    @Version
+    Long version;
+
+    @PrePersist
+    void fillOwnerId() {
+        if (ownerId == null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
 }
@@ -1,39 +1,145 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByItemIdOrderByStartAsc(Long itemId);
+    String AFTER_CURSOR = "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ";
+    String ORDER_BY_START_DESC = "ORDER BY b.start DESC, b.id DESC";
+    String SELECT_VIEW = "SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status, " +
+            "i.id AS itemId, i.name AS itemName, b.booker.id AS bookerId " +
+            "FROM Booking AS b JOIN b.item AS i ";
 
-    List<Booking> findAllByItemIdOrderByStartDesc(Long itemId);
+    @Override
+    @EntityGraph("Booking.item")
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findAllByBooker(User booker, Pageable pageable);
+    @Query(value = "SELECT * FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id IN (:itemIds)) AS ranked " +
+            "WHERE ranked.rn = 1", nativeQuery = true)
+    List<Booking> findFirstBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds);
 
-    Page<Booking> findAllByBookerAndEndBefore(User booker, LocalDateTime end, Pageable pageable);
+    @Query(value = "SELECT * FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn " +
+            "FROM bookings AS b " +
+            "WHERE b.item_id IN (:itemIds)) AS ranked " +
+            "WHERE ranked.rn = 1", nativeQuery = true)
+    List<Booking> findLastBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds);
 
-    Page<Booking> findAllByBookerAndStartAfter(User booker, LocalDateTime start, Pageable pageable);
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :userId " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findByBooker(@Param("userId") Long userId,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
 
-    Page<Booking> findAllByBookerAndStatusEquals(User booker, Status status, Pageable pageable);
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :userId AND b.start < :now AND b.end > :now " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findCurrentByBooker(@Param("userId") Long userId,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
 
-    Page<Booking> findAllByItemOwner(User owner, Pageable pageable);
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :userId AND b.end < :now " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findPastByBooker(@Param("userId") Long userId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerAndStartBeforeAndEndAfter(User owner, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :userId AND b.start > :now " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findFutureByBooker(@Param("userId") Long userId,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
 
-    Page<Booking> findAllByBookerAndStartBeforeAndEndAfter(User booker, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query(SELECT_VIEW +
+            "WHERE b.booker.id = :userId AND b.status = :status " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findByBookerAndStatus(@Param("userId") Long userId,
+                                             @Param("status") Status status,
+                                             @Param("cursorStart") LocalDateTime cursorStart,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerAndEndBefore(User owner, LocalDateTime end, Pageable pageable);
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query(SELECT_VIEW +
+            "WHERE b.ownerId = :userId " +
+            ORDER_BY_START_DESC)
+    Stream<BookingView> streamAllByOwner(@Param("userId") Long userId);
 
-    Page<Booking> findAllByItemOwnerAndStartAfter(User owner, LocalDateTime start, Pageable pageable);
+    @Query(SELECT_VIEW +
+            "WHERE b.ownerId = :userId " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findByOwner(@Param("userId") Long userId,
+                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerAndStatusEquals(User owner, Status status, Pageable pageable);
+    @Query(SELECT_VIEW +
+            "WHERE b.ownerId = :userId AND b.start < :now AND b.end > :now " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findCurrentByOwner(@Param("userId") Long userId,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.ownerId = :userId AND b.end < :now " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findPastByOwner(@Param("userId") Long userId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.ownerId = :userId AND b.start > :now " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findFutureByOwner(@Param("userId") Long userId,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "WHERE b.ownerId = :userId AND b.status = :status " +
+            AFTER_CURSOR + ORDER_BY_START_DESC)
+    Slice<BookingView> findByOwnerAndStatus(@Param("userId") Long userId,
+                                            @Param("status") Status status,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    boolean existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(Long itemId, Long bookingId, Status status,
+                                                                     LocalDateTime end, LocalDateTime start);
 
     List<Booking> findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long userId, Long itemId, Status status, LocalDateTime end);
 }
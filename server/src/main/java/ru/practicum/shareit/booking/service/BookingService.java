@@ -4,6 +4,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto create(BookingItemAndUserId bookingItemAndUserId, Long userId);
@@ -12,7 +13,13 @@ public interface BookingService {
 
     List<BookingDto> getAllByOwner(Long userId, String state, int from, int size);
 
+    List<BookingDto> getAllByOwnerAfter(Long userId, String state, String after, int size);
+
+    void exportAllByOwner(Long userId, Consumer<BookingDto> consumer);
+
     List<BookingDto> getAllByUser(Long userId, String state, int from, int size);
 
+    List<BookingDto> getAllByUserAfter(Long userId, String state, String after, int size);
+
     BookingDto getById(Long itemId, Long userId);
 }
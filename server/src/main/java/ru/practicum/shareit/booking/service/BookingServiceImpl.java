@@ -1,25 +1,36 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.retry.OptimisticLockRetry;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceVerifier;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.Status.*;
 import static ru.practicum.shareit.booking.dto.BookingMapper.toBooking;
@@ -30,12 +41,18 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceVerifier userExistenceVerifier;
+    private final Map<BookingState, StateQuery> bookerQueries;
+    private final Map<BookingState, StateQuery> ownerQueries;
 
     public BookingServiceImpl(BookingRepository bookingRepository, UserRepository userRepository,
-                              ItemRepository itemRepository) {
+                              ItemRepository itemRepository, UserExistenceVerifier userExistenceVerifier) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.userExistenceVerifier = userExistenceVerifier;
+        this.bookerQueries = bookerQueries();
+        this.ownerQueries = ownerQueries();
     }
 
     @Transactional
@@ -43,7 +60,7 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto create(BookingItemAndUserId bookingItemAndUserId, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь id: " + userId + " не найден."));
-        Item item = itemRepository.findById(bookingItemAndUserId.getItemId())
+        Item item = itemRepository.findByIdForUpdate(bookingItemAndUserId.getItemId())
                 .orElseThrow(() -> new NotFoundException("Item id: " + bookingItemAndUserId.getItemId() + " не найден."));
         if (item.getOwner().getId().equals(userId)) {
             throw new NotFoundException("Item id: " + bookingItemAndUserId.getItemId() + " пренадлежит пользователю.");
@@ -57,29 +74,38 @@ public class BookingServiceImpl implements BookingService {
         }
         booking.setBooker(user);
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setStatus(WAITING);
         bookingRepository.save(booking);
+        checkOverlap(booking);
 
         return toBookingDto(booking);
     }
 
+    @OptimisticLockRetry
     @Transactional
     @Override
     public BookingDto approve(Long bookingId, Long userId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование id: " + bookingId + " не найдено."));
-        if (!userId.equals(booking.getItem().getOwner().getId())) {
+        if (!userId.equals(booking.getOwnerId())) {
             throw new NotFoundException("У пользователя id: " + userId + "Бронирование id: " + bookingId + " не найдено.");
         }
         if (!booking.getStatus().equals(WAITING)) {
             throw new BadRequestException("Ошибка бронирования.");
         }
         if (approved) {
+            itemRepository.findByIdForUpdate(booking.getItem().getId());
+            checkOverlap(booking);
             booking.setStatus(APPROVED);
         } else {
             booking.setStatus(REJECTED);
         }
-        bookingRepository.save(booking);
+        try {
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Item id: " + booking.getItem().getId() + " уже забронирован на эти даты.");
+        }
 
         return toBookingDto(booking);
     }
@@ -87,73 +113,34 @@ public class BookingServiceImpl implements BookingService {
     @Transactional(readOnly = true)
     @Override
     public List<BookingDto> getAllByOwner(Long userId, String state, int from, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь id: " + userId + " не найден."));
-        List<Booking> bookingDtoList = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
-        switch (state) {
-            case "ALL":
-                bookingDtoList.addAll(bookingRepository.findAllByItemOwner(user, pageRequest).toList());
-                break;
-            case "CURRENT":
-                bookingDtoList.addAll(bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(user,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest).toList());
-                break;
-            case "PAST":
-                bookingDtoList.addAll(bookingRepository.findAllByItemOwnerAndEndBefore(user,
-                        LocalDateTime.now(), pageRequest).toList());
-                break;
-            case "FUTURE":
-                bookingDtoList.addAll(bookingRepository.findAllByItemOwnerAndStartAfter(user, LocalDateTime.now(),
-                        pageRequest).toList());
-                break;
-            case "WAITING":
-                bookingDtoList.addAll(bookingRepository.findAllByItemOwnerAndStatusEquals(user, WAITING,
-                        pageRequest).toList());
-                break;
-            case "REJECTED":
-                bookingDtoList.addAll(bookingRepository.findAllByItemOwnerAndStatusEquals(user, REJECTED,
-                        pageRequest).toList());
-                break;
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        return getAllByOwner(userId, state, PageCursor.FIRST, PageRequest.of(from / size, size));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingDto> getAllByOwnerAfter(Long userId, String state, String after, int size) {
+        return getAllByOwner(userId, state, PageCursor.decode(after), PageRequest.ofSize(size));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAllByOwner(Long userId, Consumer<BookingDto> consumer) {
+        userExistenceVerifier.verify(userId);
+        try (Stream<BookingView> bookings = bookingRepository.streamAllByOwner(userId)) {
+            bookings.map(BookingMapper::toBookingDto).forEach(consumer);
         }
-        return bookingDtoList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<BookingDto> getAllByUser(Long userId, String state, int from, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь id: " + userId + " не найден."));
-        List<Booking> bookingDtoList = new ArrayList<>();
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
-        switch (state) {
-            case "ALL":
-                bookingDtoList.addAll(bookingRepository.findAllByBooker(user, pageRequest).toList());
-                break;
-            case "CURRENT":
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStartBeforeAndEndAfter(user,
-                        LocalDateTime.now(), LocalDateTime.now(), pageRequest).toList());
-                break;
-            case "PAST":
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndEndBefore(user,
-                        LocalDateTime.now(), pageRequest).toList());
-                break;
-            case "FUTURE":
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStartAfter(user, LocalDateTime.now(),
-                        pageRequest).toList());
-                break;
-            case "WAITING":
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStatusEquals(user, WAITING, pageRequest).toList());
-                break;
-            case "REJECTED":
-                bookingDtoList.addAll(bookingRepository.findAllByBookerAndStatusEquals(user, REJECTED, pageRequest).toList());
-                break;
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
-        }
-        return bookingDtoList.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return getAllByUser(userId, state, PageCursor.FIRST, PageRequest.of(from / size, size));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingDto> getAllByUserAfter(Long userId, String state, String after, int size) {
+        return getAllByUser(userId, state, PageCursor.decode(after), PageRequest.ofSize(size));
     }
 
     @Transactional(readOnly = true)
@@ -161,9 +148,77 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto getById(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование id: " + bookingId + " не найдено."));
-        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getItem().getOwner().getId())) {
+        if (!userId.equals(booking.getBooker().getId()) && !userId.equals(booking.getOwnerId())) {
             throw new NotFoundException("У пользователя id: " + userId + "Бронирование id: " + bookingId + " не найдено.");
         }
         return toBookingDto(booking);
     }
+
+    private void checkOverlap(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        if (bookingRepository.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(itemId, booking.getId(),
+                APPROVED, booking.getEnd(), booking.getStart())) {
+            throw new ConflictException("Item id: " + itemId + " уже забронирован на эти даты.");
+        }
+    }
+
+    private List<BookingDto> getAllByOwner(Long userId, String state, PageCursor after, Pageable pageable) {
+        return getAll(ownerQueries, userId, state, after, pageable);
+    }
+
+    private List<BookingDto> getAllByUser(Long userId, String state, PageCursor after, Pageable pageable) {
+        return getAll(bookerQueries, userId, state, after, pageable);
+    }
+
+    private List<BookingDto> getAll(Map<BookingState, StateQuery> queries, Long userId, String state,
+                                    PageCursor after, Pageable pageable) {
+        userExistenceVerifier.verify(userId);
+        StateQuery query = queries.get(BookingState.from(state));
+        return query.find(userId, LocalDateTime.now(), after, pageable).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private Map<BookingState, StateQuery> bookerQueries() {
+        Map<BookingState, StateQuery> queries = new EnumMap<>(BookingState.class);
+        queries.put(BookingState.ALL, (userId, now, after, pageable) ->
+                bookingRepository.findByBooker(userId, after.getTimestamp(), after.getId(), pageable));
+        queries.put(BookingState.CURRENT, (userId, now, after, pageable) ->
+                bookingRepository.findCurrentByBooker(userId, now, after.getTimestamp(), after.getId(), pageable));
+        queries.put(BookingState.PAST, (userId, now, after, pageable) ->
+                bookingRepository.findPastByBooker(userId, now, after.getTimestamp(), after.getId(), pageable));
+        queries.put(BookingState.FUTURE, (userId, now, after, pageable) ->
+                bookingRepository.findFutureByBooker(userId, now, after.getTimestamp(), after.getId(), pageable));
+        for (BookingState state : BookingState.values()) {
+            if (state.getStatus() != null) {
+                queries.put(state, (userId, now, after, pageable) -> bookingRepository.findByBookerAndStatus(userId,
+                        state.getStatus(), after.getTimestamp(), after.getId(), pageable));
+            }
+        }
+        return queries;
+    }
+
+    private Map<BookingState, StateQuery> ownerQueries() {
+        Map<BookingState, StateQuery> queries = new EnumMap<>(BookingState.class);
+        queries.put(BookingState.ALL, (userId, now, after, pageable) ->
+                bookingRepository.findByOwner(userId, after.getTimestamp(), after.getId(), pageable));
+        queries.put(BookingState.CURRENT, (userId, now, after, pageable) ->
+                bookingRepository.findCurrentByOwner(userId, now, after.getTimestamp(), after.getId(), pageable));
+        queries.put(BookingState.PAST, (userId, now, after, pageable) ->
+                bookingRepository.findPastByOwner(userId, now, after.getTimestamp(), after.getId(), pageable));
+        queries.put(BookingState.FUTURE, (userId, now, after, pageable) ->
+                bookingRepository.findFutureByOwner(userId, now, after.getTimestamp(), after.getId(), pageable));
+        for (BookingState state : BookingState.values()) {
+            if (state.getStatus() != null) {
+                queries.put(state, (userId, now, after, pageable) -> bookingRepository.findByOwnerAndStatus(userId,
+                        state.getStatus(), after.getTimestamp(), after.getId(), pageable));
+            }
+        }
+        return queries;
+    }
+
+    @FunctionalInterface
+    private interface StateQuery {
+        Slice<BookingView> find(Long userId, LocalDateTime now, PageCursor after, Pageable pageable);
+    }
 }
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String ITEM_SEARCH = "itemSearch";
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import javax.persistence.EntityManagerFactory;
+
+@Component
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        entityManagerFactory.getCache().evict(Item.class);
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+@Component
+public class EntityEtagFilter extends ShallowEtagHeaderFilter {
+    private static final List<String> ENTITY_PATHS = List.of(
+            "/items/{id:\\d+}",
+            "/users/{id:\\d+}",
+            "/requests/{id:\\d+}");
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ENTITY_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+}
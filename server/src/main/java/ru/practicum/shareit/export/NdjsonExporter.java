@@ -0,0 +1,41 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@Component
+public class NdjsonExporter {
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final ObjectWriter writer;
+
+    public NdjsonExporter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> export(Consumer<Consumer<T>> source) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> source.accept(line(out)));
+    }
+
+    private <T> Consumer<T> line(OutputStream out) {
+        return value -> {
+            try {
+                out.write(writer.writeValueAsBytes(value));
+                out.write(LINE_SEPARATOR);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.export.NdjsonExporter;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -12,9 +15,11 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final NdjsonExporter ndjsonExporter;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, NdjsonExporter ndjsonExporter) {
         this.itemService = itemService;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     @GetMapping
@@ -27,6 +32,11 @@ public class ItemController {
         return itemService.getAll(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return ndjsonExporter.<ItemDto>export(consumer -> itemService.exportAll(userId, consumer));
+    }
+
     @GetMapping("/{id}")
     public ItemDto getById(@PathVariable Long id, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.getById(id, userId);
@@ -63,4 +73,13 @@ public class ItemController {
         }
         return itemService.search(text, from, size);
     }
+
+    @GetMapping("/suggest")
+    public List<ItemDto> suggest(@RequestParam String prefix,
+                                 @RequestParam(defaultValue = "10") int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Неверные параметры.");
+        }
+        return itemService.suggest(prefix, size);
+    }
 }
@@ -13,6 +13,16 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemDto toItemDto(ItemView itemView) {
+        return ItemDto.builder()
+                .id(itemView.getId())
+                .name(itemView.getName())
+                .description(itemView.getDescription())
+                .available(itemView.getAvailable())
+                .requestId(itemView.getRequestId())
+                .build();
+    }
+
     public static Item toItem(ItemDto itemDto) {
         return Item.builder()
                 .id(itemDto.getId())
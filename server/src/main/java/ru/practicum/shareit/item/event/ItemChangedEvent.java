@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemChangedEvent {
+    Long id;
+    Long ownerId;
+    Long requestId;
+    Long requestorId;
+    String name;
+    String description;
+    Boolean available;
+
+    public static ItemChangedEvent of(Item item) {
+        return new ItemChangedEvent(
+                item.getId(),
+                item.getOwner().getId(),
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                item.getRequest() != null ? item.getRequest().getRequestor().getId() : null,
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable());
+    }
+}
@@ -3,20 +3,62 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByRequestId(Long requestId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT i FROM Item AS i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
     Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.owner.id AS ownerId, i.request.id AS requestId " +
+            "FROM Item AS i " +
+            "WHERE i.owner.id = :ownerId " +
+            "ORDER BY i.id")
+    Stream<ItemView> streamAllByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.owner.id AS ownerId, i.request.id AS requestId " +
+            "FROM Item AS i " +
+            "WHERE i.request.id IN :requestIds " +
+            "ORDER BY i.id")
+    List<ItemView> findAllByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
     @Query("SELECT i " +
             "FROM Item AS i " +
             "WHERE i.available = true " +
             "AND (lower(i.name) LIKE lower(CONCAT('%',?1,'%')) " +
             "OR lower(i.description) LIKE lower(CONCAT('%',?1,'%')))")
     List<Item> findItemsByNameAndDescriptionAndAvailable(String text, Pageable pageable);
+
+    @Query("SELECT i FROM Item AS i LEFT JOIN FETCH i.request " +
+            "WHERE i.available = true AND i.id > :afterId " +
+            "ORDER BY i.id")
+    List<Item> findAvailableAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT i.* " +
+            "FROM items AS i " +
+            "WHERE i.is_available " +
+            "AND i.search_vector @@ plainto_tsquery('simple', :text) " +
+            "ORDER BY ts_rank(i.search_vector, plainto_tsquery('simple', :text)) DESC, i.id", nativeQuery = true)
+    List<Item> searchFullText(@Param("text") String text, Pageable pageable);
 }
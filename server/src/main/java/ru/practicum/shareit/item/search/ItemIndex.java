@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.search;
+
+interface ItemIndex {
+    void clear();
+
+    void add(long id, String name, String description);
+
+    void remove(long id, String name, String description);
+
+    default void compact() {
+    }
+}
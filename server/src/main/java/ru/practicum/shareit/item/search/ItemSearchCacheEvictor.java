@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import static ru.practicum.shareit.cache.CacheConfig.ITEM_SEARCH;
+
+@Component
+public class ItemSearchCacheEvictor {
+    private final CacheManager cacheManager;
+
+    public ItemSearchCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        clear();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        clear();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        clear();
+    }
+
+    private void clear() {
+        Cache cache = cacheManager.getCache(ITEM_SEARCH);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
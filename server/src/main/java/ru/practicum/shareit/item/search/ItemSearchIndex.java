@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index")
+public class ItemSearchIndex implements ItemIndex {
+    private static final int GRAM = 3;
+
+    private final ItemSnapshot snapshot;
+    private final LongHashMap<PostingList> postings = new LongHashMap<>();
+
+    public ItemSearchIndex(ItemSnapshot snapshot) {
+        if (!snapshot.hasDescriptions()) {
+            throw new IllegalStateException("Снимок вещей построен без описаний, индекс поиска недоступен");
+        }
+        this.snapshot = snapshot;
+        snapshot.register(this);
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+    }
+
+    @Override
+    public void add(long id, String name, String description) {
+        for (long gram : grams(name, description)) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    @Override
+    public void remove(long id, String name, String description) {
+        for (long gram : grams(name, description)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void compact() {
+        postings.forEachValue(PostingList::trim);
+        log.info("Индекс поиска построен: {} триграмм", postings.size());
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        return snapshot.read(() -> candidates(query)
+                .filter(slot -> contains(snapshot.nameAt(slot), query)
+                        || contains(snapshot.descriptionAt(slot), query))
+                .skip(from)
+                .limit(size)
+                .mapToObj(snapshot::toItemDto)
+                .collect(Collectors.toList()));
+    }
+
+    private IntStream candidates(String query) {
+        if (query.length() < GRAM) {
+            return IntStream.range(0, snapshot.size());
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (long gram : grams(query)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return IntStream.empty();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        long[] ids = lists.get(0).toArray();
+        int length = ids.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = lists.get(i).retainAll(ids, length);
+        }
+        return LongStream.of(ids).limit(length).mapToInt(snapshot::slotOf);
+    }
+
+    private static boolean contains(String text, String query) {
+        return text.toLowerCase(Locale.ROOT).contains(query);
+    }
+
+    private static long[] grams(String... texts) {
+        String[] lower = new String[texts.length];
+        int count = 0;
+        for (int i = 0; i < texts.length; i++) {
+            lower[i] = texts[i].toLowerCase(Locale.ROOT);
+            count += Math.max(lower[i].length() - GRAM + 1, 0);
+        }
+        long[] grams = new long[count];
+        int position = 0;
+        for (String text : lower) {
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams[position++] = gram(text, i);
+            }
+        }
+        Arrays.sort(grams, 0, position);
+        int unique = 0;
+        for (int i = 0; i < position; i++) {
+            if (unique == 0 || grams[unique - 1] != grams[i]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, unique);
+    }
+
+    private static long gram(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+}
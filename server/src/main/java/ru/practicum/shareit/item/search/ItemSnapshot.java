@@ -0,0 +1,291 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.SearchMode;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ItemSnapshot {
+    private static final int BATCH_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NONE = 0;
+
+    private final ItemRepository itemRepository;
+    private final List<ItemIndex> indexes = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongHashMap<PostingList> itemsByOwner = new LongHashMap<>();
+    private final LongHashMap<PostingList> itemsByRequestor = new LongHashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] ownerIds = new long[INITIAL_CAPACITY];
+    private long[] requestIds = new long[INITIAL_CAPACITY];
+    private long[] requestorIds = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] descriptions;
+    private int size;
+
+    public ItemSnapshot(ItemRepository itemRepository,
+                        @Value("${shareit.search.mode:substring}") SearchMode searchMode) {
+        this.itemRepository = itemRepository;
+        if (searchMode == SearchMode.INDEX) {
+            descriptions = new String[INITIAL_CAPACITY];
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            itemsByOwner.clear();
+            itemsByRequestor.clear();
+            indexes.forEach(ItemIndex::clear);
+            long afterId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAvailableAfter(afterId, PageRequest.ofSize(BATCH_SIZE));
+                for (Item item : batch) {
+                    put(ItemChangedEvent.of(item));
+                    afterId = item.getId();
+                }
+            } while (batch.size() == BATCH_SIZE);
+            trim();
+            indexes.forEach(ItemIndex::compact);
+            log.info("Снимок вещей для индексов построен: {} вещей", size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(event.getAvailable())) {
+                put(event);
+            } else {
+                remove(event.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (LongHashMap<PostingList> itemsByUser : List.of(itemsByOwner, itemsByRequestor)) {
+                PostingList cascaded = itemsByUser.get(event.getId());
+                if (cascaded != null) {
+                    for (long id : cascaded.toArray()) {
+                        remove(id);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void register(ItemIndex index) {
+        lock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                index.add(ids[slot], names[slot], descriptionAt(slot));
+            }
+            indexes.add(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean hasDescriptions() {
+        return descriptions != null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int slotOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    String nameAt(int slot) {
+        return names[slot];
+    }
+
+    String descriptionAt(int slot) {
+        return descriptions != null ? descriptions[slot] : null;
+    }
+
+    ItemDto toItemDto(int slot) {
+        return ItemDto.builder()
+                .id(ids[slot])
+                .name(names[slot])
+                .description(descriptionAt(slot))
+                .available(true)
+                .requestId(requestIds[slot] == NONE ? null : requestIds[slot])
+                .build();
+    }
+
+    ItemDto toSuggestion(int slot) {
+        return ItemDto.builder()
+                .id(ids[slot])
+                .name(names[slot])
+                .available(true)
+                .requestId(requestIds[slot] == NONE ? null : requestIds[slot])
+                .build();
+    }
+
+    private void put(ItemChangedEvent event) {
+        long id = event.getId();
+        int slot = slotOf(id);
+        if (slot >= 0) {
+            unindex(slot);
+            unlink(slot);
+        } else {
+            slot = -slot - 1;
+            insertAt(slot);
+        }
+        ids[slot] = id;
+        ownerIds[slot] = event.getOwnerId();
+        requestIds[slot] = orNone(event.getRequestId());
+        requestorIds[slot] = orNone(event.getRequestorId());
+        names[slot] = event.getName();
+        if (descriptions != null) {
+            descriptions[slot] = event.getDescription();
+        }
+        link(slot);
+        for (ItemIndex index : indexes) {
+            index.add(id, names[slot], descriptionAt(slot));
+        }
+    }
+
+    private void remove(long id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return;
+        }
+        unindex(slot);
+        unlink(slot);
+        int tail = size - slot - 1;
+        System.arraycopy(ids, slot + 1, ids, slot, tail);
+        System.arraycopy(ownerIds, slot + 1, ownerIds, slot, tail);
+        System.arraycopy(requestIds, slot + 1, requestIds, slot, tail);
+        System.arraycopy(requestorIds, slot + 1, requestorIds, slot, tail);
+        System.arraycopy(names, slot + 1, names, slot, tail);
+        size--;
+        names[size] = null;
+        if (descriptions != null) {
+            System.arraycopy(descriptions, slot + 1, descriptions, slot, tail);
+            descriptions[size] = null;
+        }
+    }
+
+    private void unindex(int slot) {
+        for (ItemIndex index : indexes) {
+            index.remove(ids[slot], names[slot], descriptionAt(slot));
+        }
+    }
+
+    private void link(int slot) {
+        itemsByOwner.computeIfAbsent(ownerIds[slot], key -> new PostingList()).add(ids[slot]);
+        if (requestorIds[slot] != NONE) {
+            itemsByRequestor.computeIfAbsent(requestorIds[slot], key -> new PostingList()).add(ids[slot]);
+        }
+    }
+
+    private void unlink(int slot) {
+        unlink(itemsByOwner, ownerIds[slot], ids[slot]);
+        unlink(itemsByRequestor, requestorIds[slot], ids[slot]);
+    }
+
+    private static void unlink(LongHashMap<PostingList> itemsByUser, long userId, long id) {
+        PostingList items = itemsByUser.get(userId);
+        if (items != null) {
+            items.remove(id);
+            if (items.isEmpty()) {
+                itemsByUser.remove(userId);
+            }
+        }
+    }
+
+    private void insertAt(int slot) {
+        if (size == ids.length) {
+            resize(size + (size >> 1) + 1);
+        }
+        int tail = size - slot;
+        System.arraycopy(ids, slot, ids, slot + 1, tail);
+        System.arraycopy(ownerIds, slot, ownerIds, slot + 1, tail);
+        System.arraycopy(requestIds, slot, requestIds, slot + 1, tail);
+        System.arraycopy(requestorIds, slot, requestorIds, slot + 1, tail);
+        System.arraycopy(names, slot, names, slot + 1, tail);
+        if (descriptions != null) {
+            System.arraycopy(descriptions, slot, descriptions, slot + 1, tail);
+        }
+        size++;
+    }
+
+    private void trim() {
+        resize(Math.max(size, INITIAL_CAPACITY));
+    }
+
+    private void resize(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        ownerIds = Arrays.copyOf(ownerIds, capacity);
+        requestIds = Arrays.copyOf(requestIds, capacity);
+        requestorIds = Arrays.copyOf(requestorIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        if (descriptions != null) {
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+    }
+
+    private static long orNone(Long id) {
+        return id != null ? id : NONE;
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Component
+public class ItemSuggestIndex implements ItemIndex {
+    private final ItemSnapshot snapshot;
+    private RadixTrie trie = new RadixTrie();
+
+    public ItemSuggestIndex(ItemSnapshot snapshot) {
+        this.snapshot = snapshot;
+        snapshot.register(this);
+    }
+
+    @Override
+    public void clear() {
+        trie = new RadixTrie();
+    }
+
+    @Override
+    public void add(long id, String name, String description) {
+        for (String key : keys(name)) {
+            trie.add(key, id);
+        }
+    }
+
+    @Override
+    public void remove(long id, String name, String description) {
+        for (String key : keys(name)) {
+            trie.remove(key, id);
+        }
+    }
+
+    public List<ItemDto> suggest(String prefix, int size) {
+        return snapshot.read(() -> {
+            Set<Long> ids = new LinkedHashSet<>();
+            trie.collect(prefix.toLowerCase(Locale.ROOT), size, ids);
+            List<ItemDto> result = new ArrayList<>();
+            for (Long id : ids) {
+                result.add(snapshot.toSuggestion(snapshot.slotOf(id)));
+            }
+            return result;
+        });
+    }
+
+    private static Set<String> keys(String name) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < lowerName.length(); i++) {
+            if (Character.isLetterOrDigit(lowerName.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(lowerName.charAt(i - 1)))) {
+                keys.add(lowerName.substring(i));
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,225 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+final class PostingList {
+    private static final int BLOCK_SIZE = 128;
+
+    private byte[][] blocks = new byte[1][];
+    private int blockCount;
+    private int tailCount;
+    private int size;
+    private long last;
+
+    void add(long id) {
+        if (size == 0 || id > last) {
+            append(id);
+            return;
+        }
+        int block = blockOf(id);
+        long[] ids = decode(blocks[block]);
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return;
+        }
+        int insert = -position - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insert);
+        updated[insert] = id;
+        System.arraycopy(ids, insert, updated, insert + 1, ids.length - insert);
+        size++;
+        if (updated.length <= BLOCK_SIZE) {
+            blocks[block] = encode(updated, 0, updated.length);
+            if (block == blockCount - 1) {
+                tailCount = updated.length;
+            }
+            return;
+        }
+        int half = updated.length / 2;
+        insertBlock(block + 1, encode(updated, half, updated.length));
+        blocks[block] = encode(updated, 0, half);
+        if (block + 1 == blockCount - 1) {
+            tailCount = updated.length - half;
+        }
+    }
+
+    void remove(long id) {
+        if (size == 0 || id > last) {
+            return;
+        }
+        int block = blockOf(id);
+        long[] ids = decode(blocks[block]);
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return;
+        }
+        size--;
+        boolean tail = block == blockCount - 1;
+        if (ids.length == 1) {
+            System.arraycopy(blocks, block + 1, blocks, block, blockCount - block - 1);
+            blocks[--blockCount] = null;
+            if (tail && blockCount > 0) {
+                long[] previous = decode(blocks[blockCount - 1]);
+                tailCount = previous.length;
+                last = previous[previous.length - 1];
+            }
+            return;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, position);
+        System.arraycopy(ids, position + 1, updated, position, updated.length - position);
+        blocks[block] = encode(updated, 0, updated.length);
+        if (tail) {
+            tailCount = updated.length;
+            last = updated[updated.length - 1];
+        }
+    }
+
+    int retainAll(long[] candidates, int length) {
+        int kept = 0;
+        int block = 0;
+        int decodedBlock = -1;
+        long[] ids = null;
+        for (int i = 0; i < length; i++) {
+            long candidate = candidates[i];
+            while (block + 1 < blockCount && first(blocks[block + 1]) <= candidate) {
+                block++;
+            }
+            if (blockCount == 0) {
+                break;
+            }
+            if (decodedBlock != block) {
+                ids = decode(blocks[block]);
+                decodedBlock = block;
+            }
+            if (Arrays.binarySearch(ids, candidate) >= 0) {
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        int position = 0;
+        for (int block = 0; block < blockCount; block++) {
+            long[] decoded = decode(blocks[block]);
+            System.arraycopy(decoded, 0, ids, position, decoded.length);
+            position += decoded.length;
+        }
+        return ids;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void trim() {
+        if (blocks.length > blockCount) {
+            blocks = Arrays.copyOf(blocks, Math.max(blockCount, 1));
+        }
+    }
+
+    private void append(long id) {
+        if (blockCount == 0 || tailCount == BLOCK_SIZE) {
+            insertBlock(blockCount, varint(new byte[0], id));
+            tailCount = 1;
+        } else {
+            blocks[blockCount - 1] = varint(blocks[blockCount - 1], id - last);
+            tailCount++;
+        }
+        last = id;
+        size++;
+    }
+
+    private void insertBlock(int index, byte[] block) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount + (blockCount >> 1) + 1);
+        }
+        System.arraycopy(blocks, index, blocks, index + 1, blockCount - index);
+        blocks[index] = block;
+        blockCount++;
+    }
+
+    private int blockOf(long id) {
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (first(blocks[middle]) <= id) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static long first(byte[] block) {
+        long value = 0;
+        int shift = 0;
+        for (int i = 0; ; i++) {
+            byte b = block[i];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    private static long[] decode(byte[] block) {
+        long[] ids = new long[BLOCK_SIZE + 1];
+        int count = 0;
+        long previous = 0;
+        long value = 0;
+        int shift = 0;
+        for (byte b : block) {
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0) {
+                shift += 7;
+                continue;
+            }
+            previous += value;
+            ids[count++] = previous;
+            value = 0;
+            shift = 0;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static byte[] encode(long[] ids, int from, int to) {
+        byte[] block = new byte[(to - from) * 10];
+        int length = 0;
+        long previous = 0;
+        for (int i = from; i < to; i++) {
+            long delta = ids[i] - previous;
+            previous = ids[i];
+            while ((delta & ~0x7FL) != 0) {
+                block[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            block[length++] = (byte) delta;
+        }
+        return Arrays.copyOf(block, length);
+    }
+
+    private static byte[] varint(byte[] block, long value) {
+        int length = 1;
+        for (long rest = value >>> 7; rest != 0; rest >>>= 7) {
+            length++;
+        }
+        byte[] extended = Arrays.copyOf(block, block.length + length);
+        int position = block.length;
+        while ((value & ~0x7FL) != 0) {
+            extended[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        extended[position] = (byte) value;
+        return extended;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+final class RadixTrie {
+    private final Node root = new Node("");
+
+    void add(String key, long id) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(child.label.charAt(0), child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+        if (node.ids == null) {
+            node.ids = new PostingList();
+        }
+        node.ids.add(id);
+    }
+
+    void remove(String key, long id) {
+        remove(root, key, 0, id);
+    }
+
+    void collect(String prefix, int limit, Set<Long> result) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(position));
+            if (child == null) {
+                return;
+            }
+            int common = commonPrefix(child.label, prefix, position);
+            if (position + common == prefix.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.label.length()) {
+                return;
+            }
+            node = child;
+            position += common;
+        }
+        collect(node, limit, result);
+    }
+
+    private boolean remove(Node node, String key, int position, long id) {
+        if (position == key.length()) {
+            if (node.ids != null) {
+                node.ids.remove(id);
+                if (node.ids.isEmpty()) {
+                    node.ids = null;
+                }
+            }
+        } else {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return false;
+            }
+            if (remove(child, key, position + child.label.length(), id)) {
+                node.children.remove(child.label.charAt(0));
+            }
+        }
+        if (node == root || node.ids != null) {
+            return false;
+        }
+        if (node.children.size() == 1) {
+            Node only = node.children.values().iterator().next();
+            node.label = node.label + only.label;
+            node.ids = only.ids;
+            node.children = only.children;
+        }
+        return node.ids == null && node.children.isEmpty();
+    }
+
+    private static void collect(Node node, int limit, Set<Long> result) {
+        if (node.ids != null) {
+            for (long id : node.ids.toArray()) {
+                result.add(id);
+                if (result.size() == limit) {
+                    return;
+                }
+            }
+        }
+        Iterator<Node> children = node.children.values().iterator();
+        while (children.hasNext() && result.size() < limit) {
+            collect(children.next(), limit, result);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int position) {
+        int length = Math.min(label.length(), key.length() - position);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(position + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+        private String label;
+        private PostingList ids;
+        private Map<Character, Node> children = new TreeMap<>();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
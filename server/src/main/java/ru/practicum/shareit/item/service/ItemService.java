@@ -4,11 +4,14 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
 
     List<ItemDto> getAll(Long userId, int from, int size);
 
+    void exportAll(Long userId, Consumer<ItemDto> consumer);
+
     ItemDto getById(Long id, Long ownerId);
 
     ItemDto create(ItemDto itemDto, Long userId);
@@ -20,4 +23,6 @@ public interface ItemService {
     void delete(Long id);
 
     List<ItemDto> search(String text, int from, int size);
+
+    List<ItemDto> suggest(String prefix, int size);
 }
@@ -1,32 +1,52 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.SearchMode;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.retry.OptimisticLockRetry;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceVerifier;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.Status.APPROVED;
 import static ru.practicum.shareit.booking.dto.BookingMapper.toBookingItemAndUserId;
+import static ru.practicum.shareit.cache.CacheConfig.ITEM_SEARCH;
 import static ru.practicum.shareit.item.dto.CommentMapper.toCommentDto;
 import static ru.practicum.shareit.item.dto.ItemMapper.toItem;
 import static ru.practicum.shareit.item.dto.ItemMapper.toItemDto;
@@ -38,26 +58,50 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserExistenceVerifier userExistenceVerifier;
+    private final SearchMode searchMode;
+    private final ItemSearchIndex searchIndex;
+    private final ItemSuggestIndex suggestIndex;
 
     public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository,
                            BookingRepository bookingRepository, CommentRepository commentRepository,
-                           ItemRequestRepository itemRequestRepository) {
+                           ItemRequestRepository itemRequestRepository, ApplicationEventPublisher eventPublisher,
+                           UserExistenceVerifier userExistenceVerifier,
+                           @Value("${shareit.search.mode:substring}") SearchMode searchMode,
+                           ObjectProvider<ItemSearchIndex> searchIndex, ItemSuggestIndex suggestIndex) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.itemRequestRepository = itemRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.userExistenceVerifier = userExistenceVerifier;
+        this.searchMode = searchMode;
+        this.searchIndex = searchIndex.getIfAvailable();
+        this.suggestIndex = suggestIndex;
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<ItemDto> getAll(Long userId, int from, int size) {
-        return itemRepository.findAllByOwnerId(userId, PageRequest.of(from / size, size))
+        List<ItemDto> itemDtos = itemRepository.findAllByOwnerId(userId, PageRequest.of(from / size, size))
                 .stream()
                 .sorted(Comparator.comparing(Item::getId))
                 .map(ItemMapper::toItemDto)
-                .map(this::setFieldsToItemDto)
                 .collect(Collectors.toList());
+        setFieldsToItemDtos(itemDtos);
+
+        return itemDtos;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(Long userId, Consumer<ItemDto> consumer) {
+        userExistenceVerifier.verify(userId);
+        try (Stream<ItemView> items = itemRepository.streamAllByOwnerId(userId)) {
+            items.map(ItemMapper::toItemDto).forEach(consumer);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -66,12 +110,13 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Item id: " + id + " не найден."));
         ItemDto itemDto = toItemDto(item);
-        itemDto.setComments(commentRepository.findAllByItemId(id)
-                .stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList()));
         if (item.getOwner().getId().equals(ownerId)) {
-            setFieldsToItemDto(itemDto);
+            setFieldsToItemDtos(List.of(itemDto));
+        } else {
+            itemDto.setComments(commentRepository.findAllByItemId(id)
+                    .stream()
+                    .map(CommentMapper::toCommentDto)
+                    .collect(Collectors.toList()));
         }
 
         return itemDto;
@@ -90,6 +135,7 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
         itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
         return toItemDto(item);
     }
 
@@ -115,6 +161,7 @@ public class ItemServiceImpl implements ItemService {
         return toCommentDto(comment);
     }
 
+    @OptimisticLockRetry
     @Transactional
     @Override
     public ItemDto update(ItemDto itemDto, Long id, Long userId) {
@@ -132,44 +179,68 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return toItemDto(itemRepository.save(item));
+        itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
+        return toItemDto(item);
     }
 
     @Transactional
     @Override
     public void delete(Long id) {
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ItemDeletedEvent(id));
     }
 
+    @Cacheable(cacheNames = ITEM_SEARCH,
+            key = "#text.toLowerCase(T(java.util.Locale).ROOT) + '|' + #from + '|' + #size",
+            condition = "!#text.isBlank()")
     @Transactional(readOnly = true)
     @Override
     public List<ItemDto> search(String text, int from, int size) {
-        List<ItemDto> searchedItems = new ArrayList<>();
         if (text.isBlank()) {
-            return searchedItems;
+            return new ArrayList<>();
         }
-        for (Item item : itemRepository.findItemsByNameAndDescriptionAndAvailable(text, PageRequest.of(from, size))) {
-            if (isSearched(text, item)) {
-                searchedItems.add(toItemDto(item));
-            }
+        if (searchMode == SearchMode.INDEX) {
+            return searchIndex.search(text, from, size);
         }
-        return searchedItems;
+        List<Item> items = searchMode == SearchMode.FULLTEXT
+                ? itemRepository.searchFullText(text, OffsetPageRequest.of(from, size))
+                : itemRepository.findItemsByNameAndDescriptionAndAvailable(text,
+                OffsetPageRequest.of(from, size, Sort.by("id")));
+        return items.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
     }
 
-    private Boolean isSearched(String text, Item item) {
-        return item.getName().toLowerCase().contains(text.toLowerCase()) ||
-                item.getDescription().toLowerCase().contains(text.toLowerCase()) && item.getAvailable();
+    @Override
+    public List<ItemDto> suggest(String prefix, int size) {
+        if (prefix.isBlank()) {
+            return new ArrayList<>();
+        }
+        return suggestIndex.suggest(prefix.stripLeading(), size);
     }
 
-    private ItemDto setFieldsToItemDto(ItemDto itemDto) {
-        itemDto.setLastBooking(bookingRepository.findAllByItemIdOrderByStartAsc(itemDto.getId()).isEmpty() ?
-                null : toBookingItemAndUserId(bookingRepository.findAllByItemIdOrderByStartAsc(itemDto.getId()).get(0)));
-        itemDto.setNextBooking(itemDto.getLastBooking() == null ?
-                null : toBookingItemAndUserId(bookingRepository.findAllByItemIdOrderByStartDesc(itemDto.getId()).get(0)));
-        itemDto.setComments(commentRepository.findAllByItemId(itemDto.getId())
+    private void setFieldsToItemDtos(List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = itemDtos.stream().map(ItemDto::getId).collect(Collectors.toList());
+        Map<Long, Booking> firstBookings = bookingRepository.findFirstBookingsByItemIds(itemIds)
                 .stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList()));
-        return itemDto;
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
+        Map<Long, Booking> lastBookings = bookingRepository.findLastBookingsByItemIds(itemIds)
+                .stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        for (ItemDto itemDto : itemDtos) {
+            Booking firstBooking = firstBookings.get(itemDto.getId());
+            Booking lastBooking = lastBookings.get(itemDto.getId());
+            itemDto.setLastBooking(firstBooking == null ? null : toBookingItemAndUserId(firstBooking));
+            itemDto.setNextBooking(lastBooking == null ? null : toBookingItemAndUserId(lastBooking));
+            itemDto.setComments(comments.getOrDefault(itemDto.getId(), new ArrayList<>()));
+        }
     }
 }
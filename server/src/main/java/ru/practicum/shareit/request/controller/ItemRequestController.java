@@ -1,19 +1,27 @@
 package ru.practicum.shareit.request.controller;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.stream.ItemRequestStream;
 
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final ItemRequestService itemRequestService;
+    private final ItemRequestStream itemRequestStream;
 
-    public ItemRequestController(ItemRequestService itemRequestService) {
+    public ItemRequestController(ItemRequestService itemRequestService, ItemRequestStream itemRequestStream) {
         this.itemRequestService = itemRequestService;
+        this.itemRequestStream = itemRequestStream;
     }
 
     @PostMapping
@@ -37,6 +45,27 @@ public class ItemRequestController {
         return itemRequestService.getAll(from, size, userId);
     }
 
+    @GetMapping(path = "/all", params = "after")
+    public ResponseEntity<List<ItemRequestDto>> getAllAfter(@RequestParam String after,
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        if (size <= 0) {
+            throw new BadRequestException("Неверные параметры.");
+        }
+        List<ItemRequestDto> itemRequests = itemRequestService.getAllAfter(after, size, userId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (itemRequests.size() == size) {
+            ItemRequestDto last = itemRequests.get(itemRequests.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, new PageCursor(last.getCreated(), last.getId()).encode());
+        }
+        return response.body(itemRequests);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemRequestStream.subscribe(userId);
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getById(@PathVariable Long requestId, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestService.getById(requestId, userId);
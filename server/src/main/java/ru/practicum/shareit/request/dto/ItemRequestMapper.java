@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.dto;
 
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -34,4 +35,15 @@ public class ItemRequestMapper {
                 .requestId(item.getRequest().getId())
                 .build();
     }
+
+    public static ItemRequestOwnerDto toItemShortDto(ItemView itemView) {
+        return ItemRequestOwnerDto.builder()
+                .id(itemView.getId())
+                .name(itemView.getName())
+                .ownerId(itemView.getOwnerId())
+                .description(itemView.getDescription())
+                .available(itemView.getAvailable())
+                .requestId(itemView.getRequestId())
+                .build();
+    }
 }
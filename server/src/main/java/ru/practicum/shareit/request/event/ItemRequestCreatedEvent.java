@@ -0,0 +1,27 @@
+package ru.practicum.shareit.request.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemRequestCreatedEvent {
+    Long id;
+    Long requestorId;
+    String description;
+    LocalDateTime created;
+
+    public static ItemRequestCreatedEvent of(ItemRequest itemRequest) {
+        return new ItemRequestCreatedEvent(
+                itemRequest.getId(),
+                itemRequest.getRequestor().getId(),
+                itemRequest.getDescription(),
+                itemRequest.getCreated());
+    }
+}
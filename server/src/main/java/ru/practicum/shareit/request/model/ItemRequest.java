@@ -21,8 +21,9 @@ public class ItemRequest {
     Long id;
     @Column(length = 600, nullable = false)
     String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id", referencedColumnName = "id")
     User requestor;
+    @Column(nullable = false)
     LocalDateTime created;
 }
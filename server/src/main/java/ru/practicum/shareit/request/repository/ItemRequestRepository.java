@@ -1,15 +1,24 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestorIdOrderByCreatedAsc(Long userId);
 
-    Page<ItemRequest> findAllByRequestorIsNot(User user, Pageable pageable);
+    @Query("SELECT r FROM ItemRequest AS r " +
+            "WHERE r.requestor.id <> :userId " +
+            "AND (r.created < :cursorCreated OR (r.created = :cursorCreated AND r.id < :cursorId)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    Slice<ItemRequest> findOpenFeed(@Param("userId") Long userId,
+                                    @Param("cursorCreated") LocalDateTime cursorCreated,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
 }
@@ -11,5 +11,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAll(int from, int size, Long userId);
 
+    List<ItemRequestDto> getAllAfter(String after, int size, Long userId);
+
     ItemRequestDto getById(Long requestId, Long userId);
 }
@@ -1,34 +1,53 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceVerifier;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.request.dto.ItemRequestMapper.toItemRequest;
 import static ru.practicum.shareit.request.dto.ItemRequestMapper.toItemRequestDto;
+import static ru.practicum.shareit.request.dto.ItemRequestMapper.toItemShortDto;
 
 @Service
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final int BATCH_SIZE = 1000;
+
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceVerifier userExistenceVerifier;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, UserRepository userRepository, ItemRepository itemRepository) {
+    public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, UserRepository userRepository,
+                                  ItemRepository itemRepository, UserExistenceVerifier userExistenceVerifier,
+                                  ApplicationEventPublisher eventPublisher) {
         this.itemRequestRepository = itemRequestRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.userExistenceVerifier = userExistenceVerifier;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -40,6 +59,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequest.setCreated(LocalDateTime.now());
         itemRequest.setRequestor(user);
         itemRequestRepository.save(itemRequest);
+        eventPublisher.publishEvent(ItemRequestCreatedEvent.of(itemRequest));
 
         return toItemRequestDto(itemRequest);
     }
@@ -47,13 +67,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     @Override
     public List<ItemRequestDto> getAllByUser(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь id: " + userId + " не найден."));
+        userExistenceVerifier.verify(userId);
         List<ItemRequestDto> itemRequestDtos = itemRequestRepository.findAllByRequestorIdOrderByCreatedAsc(userId)
                 .stream()
                 .map(ItemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
-        itemRequestDtos.forEach(this::setItemsToItemRequestDto);
+        setItemsToItemRequestDtos(itemRequestDtos);
 
         return itemRequestDtos;
     }
@@ -61,35 +80,50 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     @Override
     public List<ItemRequestDto> getAll(int from, int size, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь id: " + userId + " не найден."));
-        List<ItemRequestDto> itemRequestDtos = itemRequestRepository.findAllByRequestorIsNot(user,
-                        PageRequest.of(from, size))
-                .stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
-        itemRequestDtos.forEach(this::setItemsToItemRequestDto);
+        return getOpenFeed(userId, PageCursor.FIRST, OffsetPageRequest.of(from, size));
+    }
 
-        return itemRequestDtos;
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemRequestDto> getAllAfter(String after, int size, Long userId) {
+        return getOpenFeed(userId, PageCursor.decode(after), PageRequest.ofSize(size));
     }
 
     @Transactional(readOnly = true)
     @Override
     public ItemRequestDto getById(Long requestId, Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь id: " + userId + " не найден."));
+        userExistenceVerifier.verify(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Не найден запрос id: " + requestId));
         ItemRequestDto itemRequestDto = toItemRequestDto(itemRequest);
-        setItemsToItemRequestDto(itemRequestDto);
+        setItemsToItemRequestDtos(List.of(itemRequestDto));
 
         return itemRequestDto;
     }
 
-    private void setItemsToItemRequestDto(ItemRequestDto itemRequestDto) {
-        itemRequestDto.setItems(itemRepository.findAllByRequestId(itemRequestDto.getId())
+    private List<ItemRequestDto> getOpenFeed(Long userId, PageCursor after, Pageable pageable) {
+        userExistenceVerifier.verify(userId);
+        List<ItemRequestDto> itemRequestDtos = itemRequestRepository.findOpenFeed(userId, after.getTimestamp(),
+                        after.getId(), pageable)
                 .stream()
-                .map(ItemRequestMapper::toItemShortDto)
-                .collect(Collectors.toList()));
+                .map(ItemRequestMapper::toItemRequestDto)
+                .collect(Collectors.toList());
+        setItemsToItemRequestDtos(itemRequestDtos);
+
+        return itemRequestDtos;
+    }
+
+    private void setItemsToItemRequestDtos(List<ItemRequestDto> itemRequestDtos) {
+        Map<Long, ItemRequestDto> byId = new HashMap<>();
+        for (ItemRequestDto itemRequestDto : itemRequestDtos) {
+            byId.put(itemRequestDto.getId(), itemRequestDto);
+        }
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            for (ItemView item : itemRepository.findAllByRequestIdIn(batch)) {
+                byId.get(item.getRequestId()).getItems().add(toItemShortDto(item));
+            }
+        }
     }
 }
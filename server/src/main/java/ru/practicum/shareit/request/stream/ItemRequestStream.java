@@ -0,0 +1,219 @@
+package ru.practicum.shareit.request.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.user.service.UserExistenceVerifier;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ItemRequestStream {
+    public static final String EVENT_NAME = "item-request";
+    public static final String HEARTBEAT = "heartbeat";
+
+    private final UserExistenceVerifier userExistenceVerifier;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore slots;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    public ItemRequestStream(UserExistenceVerifier userExistenceVerifier,
+                             @Value("${shareit.requests.stream.buffer-size:64}") int bufferSize,
+                             @Value("${shareit.requests.stream.timeout:30m}") Duration timeout,
+                             @Value("${shareit.requests.stream.heartbeat:15s}") Duration heartbeat,
+                             @Value("${shareit.requests.stream.max-senders:256}") int maxSenders,
+                             @Value("${shareit.requests.stream.max-subscribers:10000}") int maxSubscribers) {
+        this.userExistenceVerifier = userExistenceVerifier;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.slots = new Semaphore(maxSubscribers);
+        this.senders = new ThreadPoolExecutor(0, maxSenders, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                daemonThreads("item-request-stream-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("item-request-heartbeat-"));
+        this.heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        userExistenceVerifier.verify(userId);
+        if (!slots.tryAcquire()) {
+            log.warn("Достигнут предел подписчиков на новые запросы, подписчик {} отклонён", userId);
+            throw new ServiceUnavailableException("Слишком много подписчиков на новые запросы");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(() -> {
+            subscriber.close();
+            emitter.complete();
+        });
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemRequestCreated(ItemRequestCreatedEvent event) {
+        ItemRequestDto itemRequestDto = ItemRequestDto.builder()
+                .id(event.getId())
+                .description(event.getDescription())
+                .created(event.getCreated())
+                .items(new ArrayList<>())
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.userId.equals(event.getRequestorId())) {
+                subscriber.offer(itemRequestDto);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(Subscriber::ping);
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Deque<ItemRequestDto> buffer = new ArrayDeque<>();
+        private final Object sendLock = new Object();
+        private boolean heartbeatDue;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(ItemRequestDto itemRequestDto) {
+            synchronized (this) {
+                if (buffer.size() == bufferSize) {
+                    ItemRequestDto dropped = buffer.pollFirst();
+                    log.debug("Подписчик {} не успевает читать поток, запрос id: {} пропущен", userId,
+                            dropped.getId());
+                }
+                buffer.addLast(itemRequestDto);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void ping() {
+            synchronized (this) {
+                if (draining) {
+                    return;
+                }
+                heartbeatDue = true;
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void close() {
+            synchronized (sendLock) {
+                closed = true;
+            }
+            remove();
+        }
+
+        private void remove() {
+            if (subscribers.remove(this)) {
+                slots.release();
+            }
+        }
+
+        private void schedule() {
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("Нет свободных потоков для отправки событий, подписчик {} ждёт следующей попытки", userId);
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                ItemRequestDto next;
+                synchronized (this) {
+                    next = buffer.pollFirst();
+                    if (next == null && !heartbeatDue) {
+                        draining = false;
+                        return;
+                    }
+                    heartbeatDue = false;
+                }
+                if (!send(next)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(ItemRequestDto itemRequestDto) {
+            synchronized (sendLock) {
+                if (closed) {
+                    return false;
+                }
+                try {
+                    if (itemRequestDto != null) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(itemRequestDto.getId()))
+                                .name(EVENT_NAME)
+                                .data(itemRequestDto, MediaType.APPLICATION_JSON));
+                    } else {
+                        emitter.send(SseEmitter.event().comment(HEARTBEAT));
+                    }
+                    return true;
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Подписчик {} отключился: {}", userId, e.getMessage());
+                    closed = true;
+                }
+            }
+            remove();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.retry;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(value = OptimisticLockingFailureException.class, maxAttempts = 4,
+        backoff = @Backoff(delay = 20, maxDelay = 200, multiplier = 2, random = true))
+public @interface OptimisticLockRetry {
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+
+@Component
+public class UserExistenceVerifier {
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Cache<Long, Boolean> missing;
+
+    public UserExistenceVerifier(UserRepository userRepository, EntityManagerFactory entityManagerFactory,
+                                 @Value("${shareit.users.missing-cache.max-size:10000}") long maxSize,
+                                 @Value("${shareit.users.missing-cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public void verify(Long userId) {
+        if (entityManagerFactory.getCache().contains(User.class, userId)) {
+            return;
+        }
+        if (missing.get(userId, id -> userRepository.existsById(id) ? null : Boolean.TRUE) != null) {
+            throw new NotFoundException("Пользователь id: " + userId + " не найден.");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        missing.invalidate(event.getId());
+    }
+}
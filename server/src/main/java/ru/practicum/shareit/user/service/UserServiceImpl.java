@@ -1,12 +1,16 @@
 package ru.practicum.shareit.user.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.retry.OptimisticLockRetry;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -19,10 +23,15 @@ import static ru.practicum.shareit.user.dto.UserMapper.toUserDto;
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserExistenceVerifier userExistenceVerifier;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserExistenceVerifier userExistenceVerifier,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userExistenceVerifier = userExistenceVerifier;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -48,7 +57,9 @@ public class UserServiceImpl implements UserService {
     public UserDto create(UserDto userDto) {
         User user = toUser(userDto);
         try {
-            return toUserDto(userRepository.save(user));
+            User saved = userRepository.save(user);
+            eventPublisher.publishEvent(new UserCreatedEvent(saved.getId()));
+            return toUserDto(saved);
         } catch (Exception e) {
             boolean email;
             try {
@@ -62,6 +73,7 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @OptimisticLockRetry
     @Transactional
     @Override
     public UserDto update(UserDto userDto, Long id) {
@@ -85,7 +97,8 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public void delete(Long id) {
-        getById(id);
+        userExistenceVerifier.verify(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 }
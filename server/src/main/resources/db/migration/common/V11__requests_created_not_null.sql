@@ -0,0 +1,3 @@
+UPDATE requests SET created = TIMESTAMP '1970-01-01 00:00:00' WHERE created IS NULL;
+
+ALTER TABLE requests ALTER COLUMN created SET NOT NULL;
@@ -0,0 +1,11 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE bookings SET owner_id = (SELECT i.id_owner FROM items AS i WHERE i.id = bookings.item_id);
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_owner FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings (owner_id, status, start_date DESC, id DESC);
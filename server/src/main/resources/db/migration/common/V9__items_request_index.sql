@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id, id);
@@ -0,0 +1,23 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(later.id || ' (пересекается с ' || earlier.id || ')', ', ' ORDER BY later.id, earlier.id)
+    INTO conflicts
+    FROM bookings AS earlier
+    JOIN bookings AS later ON later.item_id = earlier.item_id AND later.id > earlier.id
+    WHERE earlier.status = 'APPROVED'
+      AND later.status = 'APPROVED'
+      AND earlier.start_date < later.end_date
+      AND later.start_date < earlier.end_date;
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Одобренные бронирования пересекаются: %', conflicts
+            USING HINT = 'Разрешите конфликты вручную (отклоните или перенесите бронирования) и повторите миграцию';
+    END IF;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, '[)') WITH &&)
+    WHERE (status = 'APPROVED');
@@ -0,0 +1,154 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QueryCountTests {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingController bookingController;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private ItemController itemController;
+    @Autowired
+    private ItemRequestController itemRequestController;
+    private Statistics statistics;
+    private UserDto owner;
+    private UserDto booker;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userController.create(UserDto.builder().name("owner").email("owner@email.com").build());
+        booker = userController.create(UserDto.builder().name("booker").email("booker@email.com").build());
+    }
+
+    @Test
+    void getAllItemsQueryCountTest() {
+        ItemDto item = addItemWithHistory(0);
+        long queries = countQueries(() -> itemController.getAll(owner.getId(), 0, 20));
+        addItemsWithHistory(5);
+        assertEquals(queries, countQueries(() -> itemController.getAll(owner.getId(), 0, 20)));
+        assertEquals(queries - 1, countQueries(() -> itemController.getById(item.getId(), owner.getId())));
+    }
+
+    @Test
+    void getItemByIdForOtherUserQueryCountTest() {
+        ItemDto item = addItemWithHistory(0);
+        long queries = countQueries(() -> itemController.getById(item.getId(), booker.getId()));
+        for (int i = 1; i <= 5; i++) {
+            addComment(item, i);
+        }
+        assertEquals(queries, countQueries(() -> itemController.getById(item.getId(), booker.getId())));
+    }
+
+    @Test
+    void getBookingsQueryCountTest() {
+        addItemWithHistory(0);
+        long byUser = countQueries(() -> bookingController.getAllByUser(booker.getId(), "ALL", 0, 20));
+        long byOwner = countQueries(() -> bookingController.getAllByOwner(owner.getId(), "ALL", 0, 20));
+        addItemsWithHistory(5);
+        assertEquals(byUser, countQueries(() -> bookingController.getAllByUser(booker.getId(), "ALL", 0, 20)));
+        assertEquals(byOwner, countQueries(() -> bookingController.getAllByOwner(owner.getId(), "ALL", 0, 20)));
+    }
+
+    @Test
+    void getBookingByIdQueryCountTest() {
+        addItemWithHistory(0);
+        BookingDto booking = bookingController.getAllByUser(booker.getId(), "ALL", 0, 1).get(0);
+        assertEquals(1, countQueries(() -> bookingController.getById(booking.getId(), booker.getId())));
+    }
+
+    @Test
+    void getItemRequestsQueryCountTest() {
+        ItemRequestDto request = addRequestWithItems(0);
+        long byUser = countQueries(() -> itemRequestController.getAllByUser(booker.getId()));
+        long all = countQueries(() -> itemRequestController.getAll(0, 20, owner.getId()));
+        long byId = countQueries(() -> itemRequestController.getById(request.getId(), owner.getId()));
+        for (int i = 1; i <= 5; i++) {
+            addRequestWithItems(i);
+        }
+        assertEquals(byUser, countQueries(() -> itemRequestController.getAllByUser(booker.getId())));
+        assertEquals(all, countQueries(() -> itemRequestController.getAll(0, 20, owner.getId())));
+        assertEquals(byId, countQueries(() -> itemRequestController.getById(request.getId(), owner.getId())));
+        assertEquals(6, itemRequestController.getAllByUser(booker.getId()).size());
+        assertEquals(2, itemRequestController.getById(request.getId(), owner.getId()).getItems().size());
+    }
+
+    private ItemRequestDto addRequestWithItems(int index) {
+        ItemRequestDto request = itemRequestController.create(booker.getId(), ItemRequestDto.builder()
+                .description("request" + index)
+                .build());
+        for (int i = 0; i < 2; i++) {
+            itemController.create(owner.getId(), ItemDto.builder()
+                    .name("item" + index + "-" + i)
+                    .description("description")
+                    .available(true)
+                    .requestId(request.getId())
+                    .build());
+        }
+        return request;
+    }
+
+    private void addItemsWithHistory(int count) {
+        for (int i = 1; i <= count; i++) {
+            addItemWithHistory(i);
+        }
+    }
+
+    private ItemDto addItemWithHistory(int index) {
+        ItemDto item = itemController.create(owner.getId(), ItemDto.builder()
+                .name("item" + index)
+                .description("description")
+                .available(true)
+                .build());
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 10, 0).plusDays(index);
+        BookingDto booking = bookingController.create(BookingItemAndUserId.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(1))
+                .build(), booker.getId());
+        bookingController.approve(booking.getId(), owner.getId(), true);
+        bookingController.create(BookingItemAndUserId.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(index + 1))
+                .end(LocalDateTime.now().plusDays(index + 2))
+                .build(), booker.getId());
+        addComment(item, index);
+        return item;
+    }
+
+    private void addComment(ItemDto item, int index) {
+        itemController.createComment(item.getId(), booker.getId(), CommentDto.builder().text("text" + index).build());
+    }
+
+    private long countQueries(Runnable request) {
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
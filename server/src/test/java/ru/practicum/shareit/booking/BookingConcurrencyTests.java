@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.Status.APPROVED;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConcurrencyTests {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingController bookingController;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private ItemController itemController;
+    private UserDto owner;
+    private UserDto booker;
+
+    @BeforeEach
+    void init() {
+        owner = userController.create(UserDto.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+        booker = userController.create(UserDto.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+    }
+
+    @Test
+    void concurrentApproveOfSameBookingTest() throws Exception {
+        ItemDto item = createItem();
+        BookingDto booking = createBooking(item, LocalDateTime.of(2030, 1, 1, 10, 0));
+        List<Callable<BookingDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> bookingController.approve(booking.getId(), owner.getId(), true));
+        }
+        List<Throwable> failures = new ArrayList<>();
+        assertEquals(1, runConcurrently(tasks, failures));
+        failures.forEach(e -> assertTrue(e instanceof BadRequestException, e.toString()));
+        assertEquals(APPROVED, bookingController.getById(booking.getId(), owner.getId()).getStatus());
+    }
+
+    @Test
+    void concurrentApproveOfOverlappingBookingsTest() throws Exception {
+        ItemDto item = createItem();
+        List<Callable<BookingDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            BookingDto booking = createBooking(item, LocalDateTime.of(2030, 1, 1, 10, 0).plusHours(i));
+            tasks.add(() -> bookingController.approve(booking.getId(), owner.getId(), true));
+        }
+        List<Throwable> failures = new ArrayList<>();
+        assertEquals(1, runConcurrently(tasks, failures));
+        failures.forEach(e -> assertTrue(e instanceof ConflictException, e.toString()));
+    }
+
+    @Test
+    void concurrentApproveOnDifferentItemsTest() throws Exception {
+        List<Callable<BookingDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            BookingDto booking = createBooking(createItem(), LocalDateTime.of(2030, 1, 1, 10, 0));
+            tasks.add(() -> bookingController.approve(booking.getId(), owner.getId(), true));
+        }
+        List<Throwable> failures = new ArrayList<>();
+        assertEquals(THREADS, runConcurrently(tasks, failures));
+    }
+
+    private ItemDto createItem() {
+        return itemController.create(owner.getId(), ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build());
+    }
+
+    private BookingDto createBooking(ItemDto item, LocalDateTime start) {
+        return bookingController.create(BookingItemAndUserId.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .itemId(item.getId()).build(), booker.getId());
+    }
+
+    private int runConcurrently(List<Callable<BookingDto>> tasks, List<Throwable> failures) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingDto>> futures = new ArrayList<>();
+        for (Callable<BookingDto> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<BookingDto> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+        return succeeded;
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.booking.Status.APPROVED;
+
+@Slf4j
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingContentionTests {
+    private static final int THREADS = 8;
+    private static final int APPROVES_PER_THREAD = 25;
+    private static final int WARMUP_APPROVES = 50;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Autowired
+    private BookingController bookingController;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private ItemController itemController;
+    private UserDto owner;
+    private UserDto booker;
+
+    @BeforeEach
+    void init() {
+        owner = userController.create(UserDto.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+        booker = userController.create(UserDto.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+    }
+
+    @Test
+    void approveThroughputOnHotItemVersusManyItemsTest() throws Exception {
+        warmUp();
+
+        ItemDto hotItem = createItem();
+        List<BookingDto> hotBookings = new ArrayList<>();
+        for (int i = 0; i < THREADS * APPROVES_PER_THREAD; i++) {
+            hotBookings.add(createBooking(hotItem, START.plusDays(i)));
+        }
+        List<BookingDto> spreadBookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ItemDto item = createItem();
+            for (int j = 0; j < APPROVES_PER_THREAD; j++) {
+                spreadBookings.add(createBooking(item, START.plusDays(j)));
+            }
+        }
+
+        Result hot = approveConcurrently(hotBookings);
+        Result spread = approveConcurrently(spreadBookings);
+        log.info("Подтверждение бронирований, {} потоков по {}: одна вещь — {}; {} вещей — {}",
+                THREADS, APPROVES_PER_THREAD, hot, THREADS, spread);
+
+        assertEquals(hotBookings.size(), hot.approved);
+        assertEquals(spreadBookings.size(), spread.approved);
+    }
+
+    private void warmUp() throws Exception {
+        ItemDto item = createItem();
+        List<BookingDto> bookings = new ArrayList<>();
+        for (int i = 0; i < WARMUP_APPROVES; i++) {
+            bookings.add(createBooking(item, START.minusYears(1).plusDays(i)));
+        }
+        approveConcurrently(bookings);
+    }
+
+    private Result approveConcurrently(List<BookingDto> bookings) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] latencies = new long[bookings.size()];
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int first = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int approved = 0;
+                for (int i = first; i < bookings.size(); i += THREADS) {
+                    long begin = System.nanoTime();
+                    BookingDto booking = bookingController.approve(bookings.get(i).getId(), owner.getId(), true);
+                    latencies[i] = System.nanoTime() - begin;
+                    if (booking.getStatus() == APPROVED) {
+                        approved++;
+                    }
+                }
+                return approved;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        int approved = 0;
+        for (Future<Integer> future : futures) {
+            approved += future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return new Result(approved, elapsed, latencies);
+    }
+
+    private ItemDto createItem() {
+        return itemController.create(owner.getId(), ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build());
+    }
+
+    private BookingDto createBooking(ItemDto item, LocalDateTime start) {
+        return bookingController.create(BookingItemAndUserId.builder()
+                .start(start)
+                .end(start.plusHours(12))
+                .itemId(item.getId()).build(), booker.getId());
+    }
+
+    private static class Result {
+        private final int approved;
+        private final long elapsed;
+        private final long[] latencies;
+
+        Result(int approved, long elapsed, long[] latencies) {
+            this.approved = approved;
+            this.elapsed = elapsed;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f оп/с, p50 %.2f мс, p99 %.2f мс",
+                    approved * 1e9 / elapsed, percentile(0.5) / 1e6, percentile(0.99) / 1e6);
+        }
+
+        private long percentile(double quantile) {
+            return latencies[(int) Math.ceil(quantile * latencies.length) - 1];
+        }
+    }
+}
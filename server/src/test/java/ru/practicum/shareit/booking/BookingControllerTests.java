@@ -5,16 +5,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -141,11 +146,49 @@ class BookingControllerTests {
         assertThrows(BadRequestException.class, () -> bookingController.approve(1L, 1L, true));
     }
 
+    @Test
+    void createOverlappingApprovedBookingTest() {
+        UserDto userCreate = userController.create(user);
+        itemController.create(userCreate.getId(), itemDto);
+        UserDto userCreate1 = userController.create(user1);
+        BookingDto booking = bookingController.create(bookingItemAndUserId, userCreate1.getId());
+        bookingController.approve(booking.getId(), userCreate.getId(), true);
+        bookingItemAndUserId.setStart(LocalDateTime.of(2023, 1, 1, 12, 0));
+        assertThrows(ConflictException.class, () -> bookingController.create(bookingItemAndUserId, userCreate1.getId()));
+    }
+
+    @Test
+    void createAdjacentToApprovedBookingTest() {
+        UserDto userCreate = userController.create(user);
+        itemController.create(userCreate.getId(), itemDto);
+        UserDto userCreate1 = userController.create(user1);
+        BookingDto booking = bookingController.create(bookingItemAndUserId, userCreate1.getId());
+        bookingController.approve(booking.getId(), userCreate.getId(), true);
+        BookingDto next = bookingController.create(BookingItemAndUserId.builder()
+                .start(bookingItemAndUserId.getEnd())
+                .end(bookingItemAndUserId.getEnd().plusDays(1))
+                .itemId(1L).build(), userCreate1.getId());
+        assertEquals(WAITING, next.getStatus());
+    }
+
+    @Test
+    void approveOverlappingBookingTest() {
+        UserDto userCreate = userController.create(user);
+        itemController.create(userCreate.getId(), itemDto);
+        UserDto userCreate1 = userController.create(user1);
+        BookingDto first = bookingController.create(bookingItemAndUserId, userCreate1.getId());
+        BookingDto second = bookingController.create(bookingItemAndUserId, userCreate1.getId());
+        bookingController.approve(first.getId(), userCreate.getId(), true);
+        assertThrows(ConflictException.class, () -> bookingController.approve(second.getId(), userCreate.getId(), true));
+        assertEquals(WAITING, bookingController.getById(second.getId(), userCreate1.getId()).getStatus());
+    }
+
     @Test
     void getAllByUserTest() {
         UserDto userCreate = userController.create(user);
         itemController.create(userCreate.getId(), itemDto);
         UserDto userCreate1 = userController.create(user1);
+        bookingItemAndUserId.setEnd(LocalDateTime.now().plusDays(1));
         BookingDto booking = bookingController.create(bookingItemAndUserId, userCreate1.getId());
         assertEquals(1, bookingController.getAllByUser(userCreate1.getId(), "WAITING", 0, 10).size());
         assertEquals(1, bookingController.getAllByUser(userCreate1.getId(), "ALL", 0, 10).size());
@@ -162,6 +205,54 @@ class BookingControllerTests {
         assertEquals(0, bookingController.getAllByOwner(userCreate.getId(), "PAST", 0, 10).size());
     }
 
+    @Test
+    void getAllByStatusStatesTest() {
+        UserDto userCreate = userController.create(user);
+        itemController.create(userCreate.getId(), itemDto);
+        UserDto userCreate1 = userController.create(user1);
+        BookingDto booking = bookingController.create(bookingItemAndUserId, userCreate1.getId());
+        assertEquals(0, bookingController.getAllByUser(userCreate1.getId(), "APPROVED", 0, 10).size());
+        bookingController.approve(booking.getId(), userCreate.getId(), true);
+        assertEquals(1, bookingController.getAllByUser(userCreate1.getId(), "APPROVED", 0, 10).size());
+        assertEquals(1, bookingController.getAllByOwner(userCreate.getId(), "approved", 0, 10).size());
+        assertEquals(0, bookingController.getAllByOwner(userCreate.getId(), "CANCELED", 0, 10).size());
+    }
+
+    @Test
+    void exportAllByOwnerTest() throws IOException {
+        UserDto userCreate = userController.create(user);
+        itemController.create(userCreate.getId(), itemDto);
+        UserDto userCreate1 = userController.create(user1);
+        bookingController.create(bookingItemAndUserId, userCreate1.getId());
+        bookingItemAndUserId.setStart(bookingItemAndUserId.getStart().plusYears(2));
+        bookingItemAndUserId.setEnd(bookingItemAndUserId.getEnd().plusYears(2));
+        bookingController.create(bookingItemAndUserId, userCreate1.getId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingController.exportAllByOwner(userCreate.getId()).getBody().writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(true, lines[0].startsWith("{\"id\":2,"));
+        assertEquals(true, lines[1].startsWith("{\"id\":1,"));
+        out.reset();
+        bookingController.exportAllByOwner(userCreate1.getId()).getBody().writeTo(out);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void exportAllByWrongOwnerTest() {
+        StreamingResponseBody body = bookingController.exportAllByOwner(1L).getBody();
+        assertThrows(NotFoundException.class, () -> body.writeTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void getAllByUnknownStateTest() {
+        UserDto userCreate = userController.create(user);
+        assertThrows(BadRequestException.class,
+                () -> bookingController.getAllByUser(userCreate.getId(), "UNKNOWN", 0, 10));
+        assertThrows(BadRequestException.class,
+                () -> bookingController.getAllByOwner(userCreate.getId(), "UNKNOWN", 0, 10));
+    }
+
     @Test
     void getAllByWrongUserTest() {
         assertThrows(NotFoundException.class, () -> bookingController.getAllByUser(1L, "ALL", 0, 10));
@@ -6,32 +6,42 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.export.NdjsonExporter;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.booking.Status.APPROVED;
-import static ru.practicum.shareit.item.dto.ItemMapper.toItem;
-import static ru.practicum.shareit.user.dto.UserMapper.toUser;
 
 @WebMvcTest(controllers = BookingController.class)
+@Import(NdjsonExporter.class)
 class BookingControllerWithMockMvcTests {
     @Autowired
     private ObjectMapper mapper;
@@ -62,8 +72,8 @@ class BookingControllerWithMockMvcTests {
                 .id(1L)
                 .start(LocalDateTime.of(2023, 10, 10, 10, 10))
                 .end(LocalDateTime.of(2023, 10, 11, 10, 10))
-                .booker(toUser(userDto))
-                .item(toItem(itemDto))
+                .booker(new BookingDto.Booker(userDto.getId()))
+                .item(new BookingDto.Item(itemDto.getId(), itemDto.getName()))
                 .build();
         bookingItemAndUserId = BookingItemAndUserId
                 .builder()
@@ -129,6 +139,35 @@ class BookingControllerWithMockMvcTests {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
 
+    @Test
+    void getAllByUserAfterTest() throws Exception {
+        when(bookingService.getAllByUserAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingDto));
+        mvc.perform(get("/bookings?after=&size=1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor",
+                        new PageCursor(bookingDto.getStart(), bookingDto.getId()).encode()))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+    }
+
+    @Test
+    void getAllByOwnerAfterLastPageTest() throws Exception {
+        when(bookingService.getAllByOwnerAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingDto));
+        mvc.perform(get("/bookings/owner?after=cursor&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+    }
+
     @Test
     void getByIdTest() throws Exception {
         when(bookingService.getById(anyLong(), anyLong()))
@@ -153,5 +192,35 @@ class BookingControllerWithMockMvcTests {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    void exportAllByOwnerTest() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(1);
+            consumer.accept(bookingDto);
+            consumer.accept(bookingDto);
+            return null;
+        }).when(bookingService).exportAllByOwner(anyLong(), any());
+        String line = mapper.writeValueAsString(bookingDto) + "\n";
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + line));
+    }
+
+    @Test
+    void exportAllByWrongOwnerTest() throws Exception {
+        doThrow(new NotFoundException("Пользователь id: 1 не найден."))
+                .when(bookingService).exportAllByOwner(anyLong(), any());
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -22,6 +22,8 @@ public class BookingDtoTests {
                 .id(1L)
                 .start(LocalDateTime.of(2022, 12, 12, 10, 10, 1))
                 .end(LocalDateTime.of(2022, 12, 20, 10, 10, 1))
+                .booker(new BookingDto.Booker(2L))
+                .item(new BookingDto.Item(3L, "item"))
                 .build();
         JsonContent<BookingDto> result = json.write(bookingDtoJson);
         assertThat(result).extractingJsonPathNumberValue("$.id").isEqualTo(1);
@@ -29,5 +31,9 @@ public class BookingDtoTests {
                 .isEqualTo(LocalDateTime.of(2022, 12, 12, 10, 10, 1).toString());
         assertThat(result).extractingJsonPathStringValue("$.end")
                 .isEqualTo(LocalDateTime.of(2022, 12, 20, 10, 10, 1).toString());
+        assertThat(result).extractingJsonPathNumberValue("$.booker.id").isEqualTo(2);
+        assertThat(result).extractingJsonPathNumberValue("$.item.id").isEqualTo(3);
+        assertThat(result).extractingJsonPathStringValue("$.item.name").isEqualTo("item");
+        assertThat(result).doesNotHaveJsonPath("$.item.owner");
     }
 }
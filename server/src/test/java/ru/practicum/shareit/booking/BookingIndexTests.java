@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+
+@DataJpaTest
+class BookingIndexTests {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookingIndexesCreatedTest() {
+        assertThat(indexNames("BOOKINGS"), hasItems(
+                "IDX_BOOKINGS_BOOKER_START",
+                "IDX_BOOKINGS_BOOKER_STATUS_START",
+                "IDX_BOOKINGS_ITEM_START",
+                "IDX_BOOKINGS_BOOKER_ITEM_STATUS_END",
+                "IDX_BOOKINGS_OWNER_START",
+                "IDX_BOOKINGS_OWNER_STATUS_START"));
+    }
+
+    @Test
+    void itemIndexesCreatedTest() {
+        assertThat(indexNames("ITEMS"), hasItems("IDX_ITEMS_OWNER"));
+    }
+
+    private List<String> indexNames(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = ?", String.class, table);
+    }
+}
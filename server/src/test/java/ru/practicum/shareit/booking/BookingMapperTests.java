@@ -13,7 +13,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static ru.practicum.shareit.booking.Status.APPROVED;
 import static ru.practicum.shareit.booking.dto.BookingMapper.*;
-import static ru.practicum.shareit.booking.dto.BookingMapper.toBooking;
 
 public class BookingMapperTests {
     @Test
@@ -30,7 +29,7 @@ public class BookingMapperTests {
                 .available(true)
                 .owner(user)
                 .build();
-        BookingDto bookingDto = BookingDto.builder()
+        Booking booking = Booking.builder()
                 .id(1L)
                 .start(LocalDateTime.of(2022, 12, 12, 10, 10, 1))
                 .end(LocalDateTime.of(2022, 12, 20, 10, 10, 1))
@@ -38,19 +37,12 @@ public class BookingMapperTests {
                 .item(item)
                 .status(APPROVED)
                 .build();
-        Booking booking = toBooking(bookingDto);
-        assertThat(bookingDto.getId(), equalTo(booking.getId()));
-        assertThat(bookingDto.getStart(), equalTo(booking.getStart()));
-        assertThat(bookingDto.getEnd(), equalTo(booking.getEnd()));
-        assertThat(bookingDto.getItem(), equalTo(booking.getItem()));
-        assertThat(bookingDto.getBooker(), equalTo(booking.getBooker()));
-        assertThat(bookingDto.getStatus(), equalTo(booking.getStatus()));
         BookingDto bookingDtoTest = toBookingDto(booking);
         assertThat(bookingDtoTest.getId(), equalTo(booking.getId()));
         assertThat(bookingDtoTest.getStart(), equalTo(booking.getStart()));
         assertThat(bookingDtoTest.getEnd(), equalTo(booking.getEnd()));
-        assertThat(bookingDtoTest.getItem(), equalTo(booking.getItem()));
-        assertThat(bookingDtoTest.getBooker(), equalTo(booking.getBooker()));
+        assertThat(bookingDtoTest.getItem(), equalTo(new BookingDto.Item(item.getId(), item.getName())));
+        assertThat(bookingDtoTest.getBooker(), equalTo(new BookingDto.Booker(user.getId())));
         assertThat(bookingDtoTest.getStatus(), equalTo(booking.getStatus()));
         BookingItemAndUserId bookingItemAndUserId = toBookingItemAndUserId(booking);
         assertThat(bookingItemAndUserId.getId(), equalTo(booking.getId()));
@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -14,11 +16,13 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static ru.practicum.shareit.booking.Status.APPROVED;
 import static ru.practicum.shareit.booking.Status.WAITING;
+import static ru.practicum.shareit.pagination.PageCursor.FIRST;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -60,21 +64,29 @@ class BookingRepositoryTests {
     }
 
     @Test
-    void findAllByItemIdOrderByStartAscTest() {
+    void findFirstBookingsByItemIdsTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemIdOrderByStartAsc(item.getId()).size(), equalTo(1));
+        bookingRepository.save(booking.toBuilder()
+                .id(null)
+                .start(LocalDateTime.of(2023, 12, 10, 10, 10))
+                .end(LocalDateTime.of(2023, 12, 20, 10, 10))
+                .build());
+        List<Booking> bookings = bookingRepository.findFirstBookingsByItemIds(List.of(item.getId()));
+        assertThat(bookings.size(), equalTo(1));
+        assertThat(bookings.get(0).getId(), equalTo(booking.getId()));
     }
 
     @Test
-    void findAllByBookerTest() {
+    void findByBookerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByBooker(user2, Pageable.ofSize(10)).stream().count(), equalTo(1L));
+        assertThat(bookingRepository.findByBooker(user2.getId(), FIRST.getTimestamp(), FIRST.getId(),
+                Pageable.ofSize(10)).stream().count(), equalTo(1L));
     }
 
     @Test
@@ -90,112 +102,166 @@ class BookingRepositoryTests {
     }
 
     @Test
-    void findAllByBookerAndStartBeforeAndEndAfterTest() {
+    void existsOverlappingApprovedTest() {
+        userRepository.save(user);
+        itemRepository.save(item);
+        userRepository.save(user2);
+        booking.setStatus(APPROVED);
+        bookingRepository.save(booking);
+        assertThat(bookingRepository.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(item.getId(), 0L,
+                APPROVED, LocalDateTime.of(2023, 10, 20, 10, 10), LocalDateTime.of(2023, 10, 1, 10, 10)), equalTo(true));
+        assertThat(bookingRepository.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(item.getId(), 0L,
+                APPROVED, LocalDateTime.of(2023, 12, 1, 10, 10), booking.getEnd()), equalTo(false));
+        assertThat(bookingRepository.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(item.getId(),
+                booking.getId(), APPROVED, booking.getEnd(), booking.getStart()), equalTo(false));
+    }
+
+    @Test
+    void findCurrentByBookerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByBookerAndStartBeforeAndEndAfter(user2,
-                LocalDateTime.of(2023, 11, 1, 10, 10), LocalDateTime.now(),
+        assertThat(bookingRepository.findCurrentByBooker(user2.getId(),
+                LocalDateTime.of(2023, 11, 1, 10, 10), FIRST.getTimestamp(), FIRST.getId(),
                 Pageable.ofSize(10)).stream().count(), equalTo(1L));
     }
 
     @Test
-    void findAllByItemOwnerAndEndBeforeTest() {
+    void findPastByOwnerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemOwnerAndEndBefore(user,
-                LocalDateTime.of(2023, 12, 10, 10, 10),
+        assertThat(bookingRepository.findPastByOwner(user.getId(),
+                LocalDateTime.of(2023, 12, 10, 10, 10), FIRST.getTimestamp(), FIRST.getId(),
                 Pageable.ofSize(10)).stream().count(), equalTo(1L));
     }
 
     @Test
-    void findAllByItemOwnerAndStartAfterTest() {
+    void findFutureByOwnerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemOwnerAndStartAfter(user,
-                LocalDateTime.now(), Pageable.ofSize(10)).stream().count(), equalTo(1L));
+        assertThat(bookingRepository.findFutureByOwner(user.getId(),
+                LocalDateTime.of(2023, 10, 1, 10, 10), FIRST.getTimestamp(), FIRST.getId(),
+                Pageable.ofSize(10)).stream().count(), equalTo(1L));
     }
 
     @Test
-    void findAllByItemOwnerAndStatusEqualsTest() {
+    void findByOwnerAndStatusTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemOwnerAndStatusEquals(user, WAITING, Pageable.ofSize(10))
+        assertThat(bookingRepository.findByOwnerAndStatus(user.getId(), WAITING, FIRST.getTimestamp(), FIRST.getId(),
+                        Pageable.ofSize(10))
                 .stream().count(), equalTo(1L));
     }
 
     @Test
-    void findAllByItemIdOrderByStartDesc() {
+    void findLastBookingsByItemIdsTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemIdOrderByStartDesc(item.getId()).size(), equalTo(1));
+        Booking later = bookingRepository.save(booking.toBuilder()
+                .id(null)
+                .start(LocalDateTime.of(2023, 12, 10, 10, 10))
+                .end(LocalDateTime.of(2023, 12, 20, 10, 10))
+                .build());
+        List<Booking> bookings = bookingRepository.findLastBookingsByItemIds(List.of(item.getId()));
+        assertThat(bookings.size(), equalTo(1));
+        assertThat(bookings.get(0).getId(), equalTo(later.getId()));
     }
 
     @Test
-    void findAllByBookerAndEndBefore() {
+    void findPastByBookerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByBookerAndEndBefore(user2,
-                LocalDateTime.of(2023, 11, 11, 10, 10),
+        assertThat(bookingRepository.findPastByBooker(user2.getId(),
+                LocalDateTime.of(2023, 11, 11, 10, 10), FIRST.getTimestamp(), FIRST.getId(),
                 Pageable.ofSize(10)).stream().count(), equalTo(1L));
     }
 
     @Test
-    void findAllByBookerAndStartAfter() {
+    void findFutureByBookerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByBookerAndStartAfter(user2,
-                LocalDateTime.of(2023, 10, 1, 10, 10),
+        assertThat(bookingRepository.findFutureByBooker(user2.getId(),
+                LocalDateTime.of(2023, 10, 1, 10, 10), FIRST.getTimestamp(), FIRST.getId(),
                 Pageable.ofSize(10)).stream().count(), equalTo(1L));
 
     }
 
     @Test
-    void findAllByBookerAndStatusEquals() {
+    void findByBookerAndStatusTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByBookerAndStatusEquals(user2, WAITING, Pageable.ofSize(10))
+        assertThat(bookingRepository.findByBookerAndStatus(user2.getId(), WAITING, FIRST.getTimestamp(), FIRST.getId(),
+                        Pageable.ofSize(10))
                 .stream().count(), equalTo(1L));
     }
 
     @Test
-    void findAllByItemOwner() {
+    void saveFillsOwnerIdTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemOwner(user, Pageable.ofSize(10))
+        assertThat(booking.getOwnerId(), equalTo(user.getId()));
+    }
+
+    @Test
+    void findByOwnerTest() {
+        userRepository.save(user);
+        itemRepository.save(item);
+        userRepository.save(user2);
+        bookingRepository.save(booking);
+        assertThat(bookingRepository.findByOwner(user.getId(), FIRST.getTimestamp(), FIRST.getId(),
+                        Pageable.ofSize(10))
                 .stream().count(), equalTo(1L));
     }
 
     @Test
-    void findAllByItemOwnerAndStartBeforeAndEndAfter() {
+    void findCurrentByOwnerTest() {
         userRepository.save(user);
         itemRepository.save(item);
         userRepository.save(user2);
         bookingRepository.save(booking);
-        assertThat(bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(user,
+        assertThat(bookingRepository.findCurrentByOwner(user.getId(),
                         LocalDateTime.of(2023, 10, 11, 10, 10),
-                        LocalDateTime.of(2023, 11, 9, 10, 10),
+                        FIRST.getTimestamp(), FIRST.getId(),
                         Pageable.ofSize(10))
                 .stream().count(), equalTo(1L));
 
     }
 
+    @Test
+    void findByBookerAfterCursorTest() {
+        userRepository.save(user);
+        itemRepository.save(item);
+        userRepository.save(user2);
+        bookingRepository.save(booking);
+        Booking later = bookingRepository.save(booking.toBuilder()
+                .id(null)
+                .start(LocalDateTime.of(2023, 12, 10, 10, 10))
+                .end(LocalDateTime.of(2023, 12, 20, 10, 10))
+                .build());
+        Slice<BookingView> first = bookingRepository.findByBooker(user2.getId(), FIRST.getTimestamp(), FIRST.getId(),
+                Pageable.ofSize(1));
+        assertThat(first.getContent().get(0).getId(), equalTo(later.getId()));
+        assertThat(first.hasNext(), equalTo(true));
+        Slice<BookingView> second = bookingRepository.findByBooker(user2.getId(), later.getStart(), later.getId(),
+                Pageable.ofSize(1));
+        assertThat(second.getContent().get(0).getId(), equalTo(booking.getId()));
+        assertThat(second.hasNext(), equalTo(false));
+    }
 }
-
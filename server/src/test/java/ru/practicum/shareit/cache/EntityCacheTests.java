@@ -0,0 +1,79 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EntityCacheTests {
+    private static final String USER_REGION = "ru.practicum.shareit.user.model.User";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private ItemController itemController;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private Statistics statistics;
+    private UserDto user;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userController.create(UserDto.builder().name("name").email("user@email.com").build());
+    }
+
+    @Test
+    void userLookupIsServedFromCacheTest() {
+        userController.getById(user.getId());
+        statistics.clear();
+        userController.getById(user.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(USER_REGION).getHitCount());
+    }
+
+    @Test
+    void updatedUserIsNotStaleTest() {
+        userController.getById(user.getId());
+        userController.update(UserDto.builder().name("new name").build(), user.getId());
+        assertEquals("new name", userController.getById(user.getId()).getName());
+    }
+
+    @Test
+    void itemsAreEvictedWhenOwnerDeletedTest() {
+        ItemDto item = itemController.create(user.getId(),
+                ItemDto.builder().name("Дрель").description("Ударная").available(true).build());
+        UserDto other = userController.create(UserDto.builder().name("other").email("other@email.com").build());
+        itemController.getById(item.getId(), other.getId());
+        userController.delete(user.getId());
+        assertThrows(NotFoundException.class, () -> itemController.getById(item.getId(), other.getId()));
+    }
+
+    @Test
+    void regionMetricsAreExposedTest() {
+        userController.getById(user.getId());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", USER_REGION)
+                .tag("result", "hit")
+                .functionCounter());
+    }
+}
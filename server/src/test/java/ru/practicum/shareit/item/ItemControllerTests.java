@@ -4,7 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingItemAndUserId;
 import ru.practicum.shareit.exception.BadRequestException;
@@ -17,10 +20,15 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -125,6 +133,54 @@ class ItemControllerTests {
         assertEquals(0, itemController.getAll(1L, 0, 10).size());
     }
 
+    @Test
+    void getAllWithBookingsTest() {
+        userController.create(user);
+        ItemDto item = itemController.create(1L, itemDto);
+        itemController.create(1L, itemDto.toBuilder().name("second").build());
+        UserDto userCreate1 = userController.create(user1);
+        bookingController.create(BookingItemAndUserId.builder()
+                .start(LocalDateTime.of(2022, 10, 20, 12, 15))
+                .end(LocalDateTime.of(2022, 10, 27, 12, 15))
+                .itemId(item.getId()).build(), userCreate1.getId());
+        bookingController.create(BookingItemAndUserId.builder()
+                .start(LocalDateTime.of(2022, 11, 20, 12, 15))
+                .end(LocalDateTime.of(2022, 11, 27, 12, 15))
+                .itemId(item.getId()).build(), userCreate1.getId());
+        List<ItemDto> items = itemController.getAll(1L, 0, 10);
+        assertEquals(2, items.size());
+        assertEquals(1L, items.get(0).getLastBooking().getId());
+        assertEquals(2L, items.get(0).getNextBooking().getId());
+        assertNull(items.get(1).getLastBooking());
+        assertNull(items.get(1).getNextBooking());
+        assertEquals(0, items.get(1).getComments().size());
+    }
+
+    @Test
+    void exportTest() throws IOException {
+        UserDto userCreate = userController.create(user);
+        UserDto userCreate1 = userController.create(user1);
+        itemController.create(userCreate.getId(), itemDto);
+        itemController.create(userCreate1.getId(), itemDto);
+        itemDto.setName("second");
+        itemController.create(userCreate.getId(), itemDto);
+        ResponseEntity<StreamingResponseBody> response = itemController.exportAll(userCreate.getId());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"name\":\"name\",\"description\":\"description\",\"available\":true," +
+                "\"requestId\":null,\"lastBooking\":null,\"nextBooking\":null,\"comments\":null}", lines[0]);
+        assertEquals(true, lines[1].startsWith("{\"id\":3,\"name\":\"second\""));
+    }
+
+    @Test
+    void exportByWrongOwnerTest() {
+        StreamingResponseBody body = itemController.exportAll(1L).getBody();
+        assertThrows(NotFoundException.class, () -> body.writeTo(new ByteArrayOutputStream()));
+    }
+
     @Test
     void searchTest() {
         userController.create(user);
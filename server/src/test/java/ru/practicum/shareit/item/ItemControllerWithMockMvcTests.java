@@ -6,8 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.export.NdjsonExporter;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -23,6 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(NdjsonExporter.class)
 class ItemControllerWithMockMvcTests {
     @Autowired
     private ObjectMapper mapper;
@@ -116,6 +119,17 @@ class ItemControllerWithMockMvcTests {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemDto))));
     }
 
+    @Test
+    void suggestTest() throws Exception {
+        when(itemService.suggest(anyString(), anyInt()))
+                .thenReturn(List.of(itemDto));
+        mvc.perform(get("/items/suggest?prefix=ite&size=5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemDto))));
+    }
+
     @Test
     void createCommentTest() throws Exception {
         when(itemService.createComment(anyLong(), anyLong(), any()))
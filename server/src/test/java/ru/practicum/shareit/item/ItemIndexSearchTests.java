@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "shareit.search.mode=index")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemIndexSearchTests {
+    @Autowired
+    private ItemController itemController;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private SearchDuringCommit searchDuringCommit;
+
+    @Test
+    void searchFullPagesWithOffsetTest() {
+        UserDto user = userController.create(UserDto.builder().name("name").email("user@email.com").build());
+        for (int i = 0; i < 6; i++) {
+            itemController.create(user.getId(), ItemDto.builder()
+                    .name("Item" + i)
+                    .description(i % 3 == 0 ? "other" : "Description")
+                    .available(i != 4)
+                    .build());
+        }
+        assertEquals(List.of("Item1", "Item2", "Item5"), names(itemController.search("DESC", 0, 10)));
+        assertEquals(List.of("Item2", "Item5"), names(itemController.search("desc", 1, 2)));
+        assertEquals(List.of("Item5"), names(itemController.search("desc", 2, 2)));
+    }
+
+    @Test
+    void searchFollowsCommittedChangesTest() {
+        UserDto owner = userController.create(UserDto.builder().name("owner").email("owner@email.com").build());
+        UserDto other = userController.create(UserDto.builder().name("other").email("other@email.com").build());
+        ItemDto drill = itemController.create(owner.getId(), ItemDto.builder()
+                .name("Дрель").description("Аккумуляторная").available(true).build());
+        itemController.create(other.getId(), ItemDto.builder()
+                .name("Дрель ударная").description("Мощная").available(true).build());
+        assertEquals(List.of("Дрель", "Дрель ударная"), names(itemController.search("дрель", 0, 10)));
+
+        itemController.update(ItemDto.builder().available(false).build(), drill.getId(), owner.getId());
+        assertEquals(List.of("Дрель ударная"), names(itemController.search("дрель", 0, 10)));
+
+        userController.delete(other.getId());
+        assertEquals(List.of(), names(itemController.search("дрель", 0, 10)));
+    }
+
+    @Test
+    void snapshotUpdatedBeforeOtherCommitListenersTest() {
+        UserDto owner = userController.create(UserDto.builder().name("owner").email("owner@email.com").build());
+        itemController.create(owner.getId(), ItemDto.builder()
+                .name("Дрель").description("Аккумуляторная").available(true).build());
+        itemController.create(owner.getId(), ItemDto.builder()
+                .name("Дрель ударная").description("Мощная").available(true).build());
+        assertEquals(List.of("Дрель", "Дрель ударная"), names(searchDuringCommit.lastResult));
+        assertEquals(List.of("Дрель", "Дрель ударная"), names(itemController.search("дрель", 0, 10)));
+    }
+
+    private List<String> names(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getName).collect(Collectors.toList());
+    }
+
+    @TestConfiguration
+    static class SearchDuringCommitConfig {
+        @Bean
+        SearchDuringCommit searchDuringCommit(ObjectProvider<ItemService> itemService) {
+            return new SearchDuringCommit(itemService);
+        }
+    }
+
+    static class SearchDuringCommit {
+        private final ObjectProvider<ItemService> itemService;
+        private volatile List<ItemDto> lastResult;
+
+        SearchDuringCommit(ObjectProvider<ItemService> itemService) {
+            this.itemService = itemService;
+        }
+
+        @Order(0)
+        @TransactionalEventListener(fallbackExecution = true)
+        public void onItemChanged(ItemChangedEvent event) {
+            lastResult = itemService.getObject().search("дрель", 0, 10);
+        }
+    }
+}
@@ -5,11 +5,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -41,6 +43,36 @@ class ItemRepositoryTests {
         assertThat(items.size(), equalTo(1));
     }
 
+    @Test
+    void searchWithOffsetTest() {
+        User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
+        for (int i = 0; i < 5; i++) {
+            itemRepository.save(Item.builder().name("name" + i).description(i % 2 == 0 ? "description" : "other")
+                    .available(true).owner(user).build());
+        }
+        List<Item> items = itemRepository.findItemsByNameAndDescriptionAndAvailable("desc",
+                OffsetPageRequest.of(1, 2, Sort.by("id")));
+        assertThat(items.size(), equalTo(2));
+        assertThat(items.get(0).getName(), equalTo("name2"));
+        assertThat(items.get(1).getName(), equalTo("name4"));
+    }
+
+    @Test
+    void findAvailableAfterTest() {
+        User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
+        Item first = itemRepository.save(Item.builder().name("name").description("description").available(true)
+                .owner(user).build());
+        itemRepository.save(Item.builder().name("name").description("description").available(false)
+                .owner(user).build());
+        Item third = itemRepository.save(Item.builder().name("name").description("description").available(true)
+                .owner(user).build());
+        List<Item> items = itemRepository.findAvailableAfter(0L, Pageable.ofSize(1));
+        assertThat(items.get(0).getId(), equalTo(first.getId()));
+        items = itemRepository.findAvailableAfter(first.getId(), Pageable.ofSize(10));
+        assertThat(items.size(), equalTo(1));
+        assertThat(items.get(0).getId(), equalTo(third.getId()));
+    }
+
     @Test
     void findAllByOwnerIdTest() {
         User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
@@ -70,5 +102,19 @@ class ItemRepositoryTests {
                 .created(LocalDateTime.now()).build());
         assertThat(commentRepository.findAllByItemId(item.getId()).size(), equalTo(1));
     }
-}
 
+    @Test
+    void findAllCommentByItemIdInTest() {
+        User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
+        User user2 = userRepository.save(User.builder().name("name2").email("email2@email.com").build());
+        Item item = itemRepository.save(Item.builder().name("name").description("description")
+                .available(true).owner(user).build());
+        Item item2 = itemRepository.save(Item.builder().name("name2").description("description2")
+                .available(true).owner(user).build());
+        commentRepository.save(Comment.builder().text("text of comment").item(item).author(user2)
+                .created(LocalDateTime.now()).build());
+        commentRepository.save(Comment.builder().text("text of comment2").item(item2).author(user2)
+                .created(LocalDateTime.now()).build());
+        assertThat(commentRepository.findAllByItemIdIn(List.of(item.getId(), item2.getId())).size(), equalTo(2));
+    }
+}
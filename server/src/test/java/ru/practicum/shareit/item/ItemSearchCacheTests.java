@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static ru.practicum.shareit.cache.CacheConfig.ITEM_SEARCH;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemSearchCacheTests {
+    @Autowired
+    private ItemController itemController;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private UserDto user;
+
+    @BeforeEach
+    void init() {
+        user = userController.create(UserDto.builder().name("name").email("user@email.com").build());
+        itemController.create(user.getId(), ItemDto.builder().name("Дрель").description("Ударная").available(true).build());
+    }
+
+    @Test
+    void searchIsCachedByNormalizedTextTest() {
+        assertEquals(1, itemController.search("дрель", 0, 10).size());
+        assertEquals(1, itemController.search("ДРЕЛЬ", 0, 10).size());
+        assertEquals(1, itemController.search("Дрель", 0, 10).size());
+        CacheStats stats = stats();
+        assertEquals(1, stats.missCount());
+        assertEquals(2, stats.hitCount());
+    }
+
+    @Test
+    void searchCacheClearedOnItemChangesTest() {
+        assertEquals(1, itemController.search("дрель", 0, 10).size());
+        ItemDto item = itemController.create(user.getId(), ItemDto.builder()
+                .name("Дрель").description("Новая").available(true).build());
+        assertEquals(2, itemController.search("дрель", 0, 10).size());
+        itemController.update(ItemDto.builder().available(false).build(), item.getId(), user.getId());
+        assertEquals(1, itemController.search("дрель", 0, 10).size());
+        assertEquals(0, stats().hitCount());
+    }
+
+    @Test
+    void blankSearchIsNotCachedTest() {
+        itemController.search(" ", 0, 10);
+        assertEquals(0, stats().requestCount());
+    }
+
+    @Test
+    void cacheMetricsExposedTest() {
+        itemController.search("дрель", 0, 10);
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", ITEM_SEARCH).tag("result", "miss")
+                .functionCounter());
+    }
+
+    private CacheStats stats() {
+        return ((CaffeineCache) cacheManager.getCache(ITEM_SEARCH)).getNativeCache().stats();
+    }
+}
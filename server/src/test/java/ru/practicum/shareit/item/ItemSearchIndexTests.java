@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSnapshot;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class ItemSearchIndexTests {
+    private ItemSnapshot snapshot;
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void init() {
+        snapshot = new ItemSnapshot(mock(ItemRepository.class), SearchMode.INDEX);
+        index = new ItemSearchIndex(snapshot);
+        snapshot.onItemChanged(new ItemChangedEvent(1L, 10L, null, null, "Дрель", "Аккумуляторная дрель", true));
+        snapshot.onItemChanged(new ItemChangedEvent(2L, 10L, 5L, 20L, "Отвертка", "Крестовая", true));
+        snapshot.onItemChanged(new ItemChangedEvent(3L, 11L, null, null, "Дрель ударная", "Мощная", true));
+        snapshot.onItemChanged(new ItemChangedEvent(4L, 11L, null, null, "Дрель старая", "Сломана", false));
+    }
+
+    @Test
+    void searchByNameAndDescriptionTest() {
+        assertThat(ids(index.search("ДРЕЛ", 0, 10)), contains(1L, 3L));
+        assertThat(ids(index.search("крест", 0, 10)), contains(2L));
+        assertThat(ids(index.search("ель уд", 0, 10)), contains(3L));
+        assertThat(index.search("пила", 0, 10), empty());
+    }
+
+    @Test
+    void searchShortTextTest() {
+        assertThat(ids(index.search("ре", 0, 10)), contains(1L, 2L, 3L));
+    }
+
+    @Test
+    void searchWithOffsetTest() {
+        assertThat(ids(index.search("р", 1, 1)), contains(2L));
+        assertThat(ids(index.search("дрель", 1, 10)), contains(3L));
+    }
+
+    @Test
+    void updateAndDeleteTest() {
+        snapshot.onItemChanged(new ItemChangedEvent(1L, 10L, null, null, "Перфоратор", "Мощный", true));
+        snapshot.onItemChanged(new ItemChangedEvent(4L, 11L, null, null, "Дрель старая", "Починена", true));
+        snapshot.onItemDeleted(new ItemDeletedEvent(3L));
+        assertThat(ids(index.search("дрель", 0, 10)), contains(4L));
+        assertThat(ids(index.search("мощн", 0, 10)), contains(1L));
+    }
+
+    @Test
+    void userDeletedTest() {
+        snapshot.onUserDeleted(new UserDeletedEvent(20L));
+        assertThat(index.search("отвертка", 0, 10), empty());
+        snapshot.onUserDeleted(new UserDeletedEvent(11L));
+        assertThat(ids(index.search("дрель", 0, 10)), contains(1L));
+    }
+
+    @Test
+    void snapshotWithoutDescriptionsTest() {
+        assertThrows(IllegalStateException.class,
+                () -> new ItemSearchIndex(new ItemSnapshot(mock(ItemRepository.class), SearchMode.SUBSTRING)));
+    }
+
+    @Test
+    void sharedSnapshotTest() {
+        ItemSuggestIndex suggestIndex = new ItemSuggestIndex(snapshot);
+        assertThat(ids(suggestIndex.suggest("дрель", 10)), contains(1L, 3L));
+        snapshot.onItemDeleted(new ItemDeletedEvent(1L));
+        assertThat(ids(suggestIndex.suggest("дрель", 10)), contains(3L));
+        assertThat(ids(index.search("дрель", 0, 10)), contains(3L));
+    }
+
+    @Test
+    void randomChangesMatchFullScanTest() {
+        String[] names = {"Дрель", "Пила", "Дрель ударная", "Молоток", "Отвертка"};
+        Map<Long, String> expected = new TreeMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            long id = 10 + random.nextInt(2000);
+            if (random.nextInt(4) == 0) {
+                snapshot.onItemDeleted(new ItemDeletedEvent(id));
+                expected.remove(id);
+            } else {
+                String name = names[random.nextInt(names.length)];
+                snapshot.onItemChanged(new ItemChangedEvent(id, 12L, null, null, name, "Описание", true));
+                expected.put(id, name);
+            }
+        }
+        List<Long> drills = new ArrayList<>(List.of(1L, 3L));
+        expected.forEach((id, name) -> {
+            if (name.startsWith("Дрель")) {
+                drills.add(id);
+            }
+        });
+        assertEquals(drills, ids(index.search("дрель", 0, 10_000)));
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "shareit.search.mode=substring")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemSubstringSearchTests {
+    @Autowired
+    private ItemController itemController;
+    @Autowired
+    private UserController userController;
+
+    @Test
+    void searchFullPagesWithOffsetTest() {
+        UserDto user = userController.create(UserDto.builder().name("name").email("user@email.com").build());
+        for (int i = 0; i < 6; i++) {
+            itemController.create(user.getId(), ItemDto.builder()
+                    .name("Item" + i)
+                    .description(i % 3 == 0 ? "other" : "Description")
+                    .available(i != 4)
+                    .build());
+        }
+        assertEquals(List.of("Item1", "Item2", "Item5"), names(itemController.search("DESC", 0, 10)));
+        assertEquals(List.of("Item2", "Item5"), names(itemController.search("desc", 1, 2)));
+        assertEquals(List.of("Item5"), names(itemController.search("desc", 2, 2)));
+    }
+
+    private List<String> names(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSnapshot;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+
+class ItemSuggestIndexTests {
+    private ItemSnapshot snapshot;
+    private ItemSuggestIndex index;
+
+    @BeforeEach
+    void init() {
+        snapshot = new ItemSnapshot(mock(ItemRepository.class), SearchMode.SUBSTRING);
+        index = new ItemSuggestIndex(snapshot);
+        snapshot.onItemChanged(new ItemChangedEvent(1L, 10L, null, null, "Дрель", "Аккумуляторная", true));
+        snapshot.onItemChanged(new ItemChangedEvent(2L, 10L, 5L, 20L, "Дрель ударная", "Мощная", true));
+        snapshot.onItemChanged(new ItemChangedEvent(3L, 11L, null, null, "Добрый молоток", "Тяжелый", true));
+        snapshot.onItemChanged(new ItemChangedEvent(4L, 11L, null, null, "Дрель старая", "Сломана", false));
+        snapshot.onItemChanged(new ItemChangedEvent(5L, 11L, null, null, "Ударная отвертка", "Крестовая", true));
+    }
+
+    @Test
+    void suggestByNamePrefixTest() {
+        assertThat(ids(index.suggest("ДР", 10)), contains(1L, 2L));
+        assertThat(ids(index.suggest("д", 10)), contains(3L, 1L, 2L));
+        assertThat(ids(index.suggest("дрель у", 10)), contains(2L));
+        assertThat(index.suggest("дрелька", 10), empty());
+        assertThat(index.suggest("рель", 10), empty());
+    }
+
+    @Test
+    void suggestByWordPrefixTest() {
+        assertThat(ids(index.suggest("удар", 10)), contains(2L, 5L));
+        assertThat(ids(index.suggest("мол", 10)), contains(3L));
+    }
+
+    @Test
+    void suggestLimitTest() {
+        assertThat(ids(index.suggest("д", 2)), contains(3L, 1L));
+    }
+
+    @Test
+    void updateAndDeleteTest() {
+        snapshot.onItemChanged(new ItemChangedEvent(1L, 10L, null, null, "Перфоратор", "Мощный", true));
+        snapshot.onItemChanged(new ItemChangedEvent(4L, 11L, null, null, "Дрель старая", "Починена", true));
+        snapshot.onItemDeleted(new ItemDeletedEvent(2L));
+        assertThat(ids(index.suggest("дрель", 10)), contains(4L));
+        assertThat(ids(index.suggest("пер", 10)), contains(1L));
+        assertThat(ids(index.suggest("удар", 10)), contains(5L));
+    }
+
+    @Test
+    void userDeletedTest() {
+        snapshot.onUserDeleted(new UserDeletedEvent(20L));
+        assertThat(ids(index.suggest("дрель", 10)), contains(1L));
+        snapshot.onUserDeleted(new UserDeletedEvent(11L));
+        assertThat(index.suggest("удар", 10), empty());
+        assertThat(ids(index.suggest("д", 10)), contains(1L));
+    }
+
+    @Test
+    void userDeletedAfterOwnerChangeTest() {
+        snapshot.onItemChanged(new ItemChangedEvent(3L, 12L, 6L, 21L, "Добрый молоток", "Тяжелый", true));
+        snapshot.onUserDeleted(new UserDeletedEvent(11L));
+        assertThat(ids(index.suggest("мол", 10)), contains(3L));
+        snapshot.onUserDeleted(new UserDeletedEvent(21L));
+        assertThat(index.suggest("мол", 10), empty());
+    }
+
+    @Test
+    void suggestWithoutDescriptionTest() {
+        ItemDto suggestion = index.suggest("удар", 10).get(0);
+        assertThat(suggestion.getName(), equalTo("Дрель ударная"));
+        assertThat(suggestion.getRequestId(), equalTo(5L));
+        assertThat(suggestion.getDescription(), nullValue());
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffsetPageRequestTests {
+    @Test
+    void offsetTest() {
+        Pageable pageable = OffsetPageRequest.of(3, 2);
+        assertThat(pageable.getOffset(), equalTo(3L));
+        assertThat(pageable.getPageSize(), equalTo(2));
+        assertThat(pageable.next().getOffset(), equalTo(5L));
+        assertThat(pageable.previousOrFirst().getOffset(), equalTo(1L));
+        assertThat(pageable.first().getOffset(), equalTo(0L));
+    }
+
+    @Test
+    void wrongParametersTest() {
+        assertThrows(IllegalArgumentException.class, () -> OffsetPageRequest.of(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> OffsetPageRequest.of(0, 0));
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTests {
+    @Test
+    void encodeDecodeTest() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2023, 10, 10, 10, 10, 10, 123000), 42L);
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+        assertThat(decoded.getTimestamp(), equalTo(cursor.getTimestamp()));
+        assertThat(decoded.getId(), equalTo(cursor.getId()));
+    }
+
+    @Test
+    void decodeEmptyTest() {
+        assertThat(PageCursor.decode(""), equalTo(PageCursor.FIRST));
+        assertThat(PageCursor.decode(null), equalTo(PageCursor.FIRST));
+    }
+
+    @Test
+    void decodeWrongCursorTest() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("cursor"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("!!!"));
+    }
+}
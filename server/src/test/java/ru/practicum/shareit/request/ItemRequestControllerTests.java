@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -12,6 +13,10 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -83,4 +88,24 @@ public class ItemRequestControllerTests {
     void getAllWithWrongFrom() {
         assertThrows(BadRequestException.class, () -> itemRequestController.getAll(-1, 10, 1L));
     }
+
+    @Test
+    void getAllAfterWalksFeedTest() {
+        UserDto requestor = userController.create(user);
+        UserDto owner = userController.create(UserDto.builder().name("owner").email("owner@email.com").build());
+        for (int i = 0; i < 5; i++) {
+            itemRequestController.create(requestor.getId(), itemRequestDto);
+        }
+        List<Long> ids = new ArrayList<>();
+        String after = "";
+        do {
+            ResponseEntity<List<ItemRequestDto>> page = itemRequestController.getAllAfter(after, 2, owner.getId());
+            page.getBody().forEach(itemRequest -> ids.add(itemRequest.getId()));
+            after = page.getHeaders().getFirst(ItemRequestController.NEXT_CURSOR_HEADER);
+        } while (after != null);
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids);
+        assertEquals(List.of(3L, 2L), itemRequestController.getAll(2, 2, owner.getId()).stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toList()));
+    }
 }
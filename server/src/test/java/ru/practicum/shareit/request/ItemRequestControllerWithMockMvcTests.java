@@ -8,18 +8,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.controller.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.stream.ItemRequestStream;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -28,6 +37,8 @@ public class ItemRequestControllerWithMockMvcTests {
     private ObjectMapper mapper;
     @MockBean
     private ItemRequestService itemRequestService;
+    @MockBean
+    private ItemRequestStream itemRequestStream;
     @Autowired
     private MockMvc mvc;
     private ItemRequestDto itemRequestDto;
@@ -38,6 +49,7 @@ public class ItemRequestControllerWithMockMvcTests {
                 .builder()
                 .id(1L)
                 .description("item request description")
+                .created(LocalDateTime.of(2023, 12, 10, 10, 10))
                 .build();
     }
 
@@ -81,6 +93,55 @@ public class ItemRequestControllerWithMockMvcTests {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemRequestDto))));
     }
 
+    @Test
+    void getAllAfterTest() throws Exception {
+        when(itemRequestService.getAllAfter(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(itemRequestDto));
+        mvc.perform(get("/requests/all?after=&size=1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor",
+                        new PageCursor(itemRequestDto.getCreated(), itemRequestDto.getId()).encode()))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemRequestDto))));
+    }
+
+    @Test
+    void getAllAfterLastPageTest() throws Exception {
+        when(itemRequestService.getAllAfter(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(itemRequestDto));
+        mvc.perform(get("/requests/all?after=cursor&size=10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void streamTest() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(itemRequestStream.subscribe(anyLong()))
+                .thenReturn(emitter);
+        MvcResult result = mvc.perform(get("/requests/stream")
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event()
+                .id("1")
+                .name("item-request")
+                .data(itemRequestDto, MediaType.APPLICATION_JSON));
+        emitter.complete();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("id:1\nevent:item-request\ndata:")));
+    }
+
     @Test
     void getByIdTest() throws Exception {
         when(itemRequestService.getById(anyLong(), anyLong()))
@@ -3,7 +3,9 @@ package ru.practicum.shareit.request;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -15,6 +17,8 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.pagination.PageCursor.FIRST;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -38,10 +42,42 @@ public class ItemRequestRepositoryTests {
         User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
         itemRequestRepository.save(ItemRequest.builder().description("description").requestor(user)
                 .created(LocalDateTime.now()).build());
-        assertThat(itemRequestRepository.findAllByRequestorIsNot(user, Pageable.ofSize(10))
+        assertThat(itemRequestRepository.findOpenFeed(user.getId(), FIRST.getTimestamp(), FIRST.getId(),
+                        Pageable.ofSize(10))
                 .stream().count(), equalTo(0L));
         User user2 = userRepository.save(User.builder().name("name2").email("email2@email.com").build());
-        assertThat(itemRequestRepository.findAllByRequestorIsNot(user2, Pageable.ofSize(10))
+        assertThat(itemRequestRepository.findOpenFeed(user2.getId(), FIRST.getTimestamp(), FIRST.getId(),
+                        Pageable.ofSize(10))
                 .stream().count(), equalTo(1L));
     }
+
+    @Test
+    void findOpenFeedAfterCursorTest() {
+        User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
+        User user2 = userRepository.save(User.builder().name("name2").email("email2@email.com").build());
+        LocalDateTime created = LocalDateTime.of(2023, 12, 10, 10, 10);
+        ItemRequest older = itemRequestRepository.save(ItemRequest.builder().description("older").requestor(user)
+                .created(created).build());
+        ItemRequest sameTime = itemRequestRepository.save(ItemRequest.builder().description("same time")
+                .requestor(user).created(created).build());
+        ItemRequest newer = itemRequestRepository.save(ItemRequest.builder().description("newer").requestor(user)
+                .created(created.plusDays(1)).build());
+        Slice<ItemRequest> first = itemRequestRepository.findOpenFeed(user2.getId(), FIRST.getTimestamp(),
+                FIRST.getId(), Pageable.ofSize(2));
+        assertThat(first.getContent().get(0).getId(), equalTo(newer.getId()));
+        assertThat(first.getContent().get(1).getId(), equalTo(sameTime.getId()));
+        assertThat(first.hasNext(), equalTo(true));
+        Slice<ItemRequest> second = itemRequestRepository.findOpenFeed(user2.getId(), sameTime.getCreated(),
+                sameTime.getId(), Pageable.ofSize(2));
+        assertThat(second.getContent().size(), equalTo(1));
+        assertThat(second.getContent().get(0).getId(), equalTo(older.getId()));
+        assertThat(second.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void saveWithoutCreatedTest() {
+        User user = userRepository.save(User.builder().name("name").email("email@email.com").build());
+        assertThrows(DataIntegrityViolationException.class, () -> itemRequestRepository.save(ItemRequest.builder()
+                .description("description").requestor(user).build()));
+    }
 }
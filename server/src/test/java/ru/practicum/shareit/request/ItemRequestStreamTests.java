@@ -0,0 +1,208 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.request.stream.ItemRequestStream;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"shareit.requests.stream.heartbeat=200ms", "shareit.requests.stream.max-senders=2",
+                "shareit.requests.stream.max-subscribers=6", "server.tomcat.connection-timeout=3s"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemRequestStreamTests {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration STALLED_TIMEOUT = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private ItemRequestController itemRequestController;
+    @Autowired
+    private ItemRequestStream itemRequestStream;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private UserDto requestor;
+    private UserDto owner;
+
+    @BeforeEach
+    void init() {
+        requestor = userController.create(UserDto.builder().name("requestor").email("requestor@email.com").build());
+        owner = userController.create(UserDto.builder().name("owner").email("owner@email.com").build());
+    }
+
+    @Test
+    void streamNewRequestToOtherUserTest() throws Exception {
+        HttpResponse<InputStream> response = subscribe(owner.getId());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+        try (BufferedReader reader = reader(response)) {
+            ItemRequestDto itemRequest = createItemRequest(requestor);
+            List<String> event = assertTimeoutPreemptively(TIMEOUT, () -> readEvent(reader));
+            assertEquals("id:" + itemRequest.getId(), event.get(0));
+            assertEquals("event:item-request", event.get(1));
+            assertTrue(event.get(2).contains("\"description\":\"description\""));
+        }
+    }
+
+    @Test
+    void streamSkipsOwnRequestsTest() throws Exception {
+        HttpResponse<InputStream> response = subscribe(requestor.getId());
+        try (BufferedReader reader = reader(response)) {
+            createItemRequest(requestor);
+            ItemRequestDto itemRequest = createItemRequest(owner);
+            List<String> event = assertTimeoutPreemptively(TIMEOUT, () -> readEvent(reader));
+            assertEquals("id:" + itemRequest.getId(), event.get(0));
+        }
+    }
+
+    @Test
+    void streamSendsHeartbeatTest() throws Exception {
+        HttpResponse<InputStream> response = subscribe(owner.getId());
+        try (BufferedReader reader = reader(response)) {
+            assertEquals(":heartbeat", assertTimeoutPreemptively(TIMEOUT, reader::readLine));
+        }
+    }
+
+    @Test
+    void stalledSubscribersDoNotBlockOthersTest() throws Exception {
+        List<Socket> stalled = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                stalled.add(subscribeWithoutReading(owner.getId()));
+            }
+            HttpResponse<InputStream> response = subscribe(owner.getId());
+            try (BufferedReader reader = reader(response)) {
+                String description = "description".repeat(10_000);
+                for (long id = 1; id <= 300; id++) {
+                    itemRequestStream.onItemRequestCreated(
+                            new ItemRequestCreatedEvent(id, requestor.getId(), description, LocalDateTime.now()));
+                }
+                for (long id = -1; id >= -2; id--) {
+                    String marker = "id:" + id;
+                    itemRequestStream.onItemRequestCreated(
+                            new ItemRequestCreatedEvent(id, requestor.getId(), "marker", LocalDateTime.now()));
+                    assertTimeoutPreemptively(STALLED_TIMEOUT, () -> {
+                        List<String> event;
+                        do {
+                            event = readEvent(reader);
+                        } while (!event.isEmpty() && !event.get(0).equals(marker));
+                        assertEquals(marker, event.get(0));
+                    });
+                }
+            }
+        } finally {
+            for (Socket socket : stalled) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    void subscriberLimitTest() throws Exception {
+        List<HttpResponse<InputStream>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < 6; i++) {
+                HttpResponse<InputStream> response = subscribe(owner.getId());
+                assertEquals(200, response.statusCode());
+                responses.add(response);
+            }
+            HttpResponse<InputStream> rejected = subscribe(owner.getId());
+            rejected.body().close();
+            assertEquals(503, rejected.statusCode());
+        } finally {
+            for (HttpResponse<InputStream> response : responses) {
+                response.body().close();
+            }
+        }
+    }
+
+    @Test
+    void streamWithWrongUserTest() throws Exception {
+        HttpResponse<InputStream> response = subscribe(100L);
+        response.body().close();
+        assertEquals(404, response.statusCode());
+    }
+
+    private HttpResponse<InputStream> subscribe(Long userId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/requests/stream"))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Accept", "text/event-stream")
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private Socket subscribeWithoutReading(Long userId) throws IOException {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /requests/stream HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "X-Sharer-User-Id: " + userId + "\r\n"
+                + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        InputStream in = socket.getInputStream();
+        int matched = 0;
+        while (matched < 4) {
+            int b = in.read();
+            if (b == -1) {
+                throw new IOException("Соединение закрыто до заголовков ответа");
+            }
+            matched = b == "\r\n\r\n".charAt(matched) ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+        return socket;
+    }
+
+    private ItemRequestDto createItemRequest(UserDto user) {
+        return itemRequestController.create(user.getId(), ItemRequestDto.builder().description("description").build());
+    }
+
+    private static BufferedReader reader(HttpResponse<InputStream> response) {
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    private static List<String> readEvent(BufferedReader reader) throws IOException {
+        List<String> event = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (!event.isEmpty()) {
+                    return event;
+                }
+            } else if (!line.startsWith(":")) {
+                event.add(line);
+            }
+        }
+        return event;
+    }
+}
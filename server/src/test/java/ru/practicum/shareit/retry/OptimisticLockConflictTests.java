@@ -0,0 +1,55 @@
+package ru.practicum.shareit.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+class OptimisticLockConflictTests {
+    @Autowired
+    private UserService userService;
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentUpdateIsRetriedAgainstFreshStateTest() throws Exception {
+        UserDto user = userService.create(UserDto.builder().name("name").email("name@email.com").build());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                executor.submit(() -> userService.update(UserDto.builder()
+                        .email("concurrent@email.com")
+                        .build(), user.getId())).get(30, TimeUnit.SECONDS);
+            }
+            return List.of();
+        }).when(userRepository).findAllByIdNotAndName(anyLong(), anyString());
+
+        UserDto updated = userService.update(UserDto.builder().name("updated").build(), user.getId());
+        executor.shutdown();
+
+        assertEquals(2, attempts.get());
+        assertEquals("updated", updated.getName());
+        assertEquals("concurrent@email.com", updated.getEmail());
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals("updated", stored.getName());
+        assertEquals("concurrent@email.com", stored.getEmail());
+        assertEquals(2L, stored.getVersion());
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class OptimisticLockRetryTests {
+    @Autowired
+    private UserService userService;
+    @MockBean
+    private UserRepository userRepository;
+
+    @Test
+    void retryAfterVersionConflictTest() {
+        User user = User.builder().id(1L).name("name").email("email@email.com").version(0L).build();
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        UserDto updated = userService.update(UserDto.builder().name("updated").build(), 1L);
+        assertEquals("updated", updated.getName());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void giveUpAfterMaxAttemptsTest() {
+        User user = User.builder().id(1L).name("name").email("email@email.com").version(0L).build();
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> userService.update(UserDto.builder().name("updated").build(), 1L));
+        verify(userRepository, times(4)).findById(1L);
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.user;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceVerifier;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserExistenceVerifierTests {
+    @Autowired
+    private UserExistenceVerifier userExistenceVerifier;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void verifyExistingUserWithoutLoadingTest() {
+        UserDto user = userController.create(UserDto.builder().name("name").email("user@email.com").build());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        assertDoesNotThrow(() -> userExistenceVerifier.verify(user.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void verifyCachedUserWithoutQueryTest() {
+        UserDto user = userController.create(UserDto.builder().name("name").email("user@email.com").build());
+        userController.getById(user.getId());
+        statistics.clear();
+        assertDoesNotThrow(() -> userExistenceVerifier.verify(user.getId()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void verifyMissingUserIsCachedTest() {
+        assertThrows(NotFoundException.class, () -> userExistenceVerifier.verify(100L));
+        statistics.clear();
+        assertThrows(NotFoundException.class, () -> userExistenceVerifier.verify(100L));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void verifyCreatedUserAfterMissTest() {
+        assertThrows(NotFoundException.class, () -> userExistenceVerifier.verify(1L));
+        UserDto user = userController.create(UserDto.builder().name("name").email("user@email.com").build());
+        assertEquals(1L, user.getId());
+        assertDoesNotThrow(() -> userExistenceVerifier.verify(user.getId()));
+    }
+
+    @Test
+    void userCreatedDuringMissLookupTest() throws Exception {
+        UserRepository userRepository = mock(UserRepository.class);
+        UserExistenceVerifier verifier = new UserExistenceVerifier(userRepository,
+                mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS), 100, Duration.ofMinutes(1));
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch userCreated = new CountDownLatch(1);
+        when(userRepository.existsById(1L))
+                .thenAnswer(invocation -> {
+                    lookupStarted.countDown();
+                    userCreated.await(5, TimeUnit.SECONDS);
+                    return false;
+                })
+                .thenReturn(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> lookup = executor.submit(() -> verifier.verify(1L));
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+        Future<?> invalidation = executor.submit(() -> verifier.onUserCreated(new UserCreatedEvent(1L)));
+        Thread.sleep(200);
+        userCreated.countDown();
+        ExecutionException miss = assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS));
+        assertTrue(miss.getCause() instanceof NotFoundException);
+        invalidation.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertDoesNotThrow(() -> verifier.verify(1L));
+    }
+}
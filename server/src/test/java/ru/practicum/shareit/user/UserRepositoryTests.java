@@ -3,12 +3,14 @@ package ru.practicum.shareit.user;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -36,4 +38,14 @@ public class UserRepositoryTests {
         assertThat(userRepository.findAllByIdNotAndName(user.getId(), user.getName()).size(), equalTo(0));
         assertThat(userRepository.findAllByIdNotAndName(user.getId() + 1, user.getName()).size(), equalTo(1));
     }
+
+    @Test
+    void staleVersionUpdate() {
+        User user = userRepository.saveAndFlush(User.builder().name("name").email("email@email.com").build());
+        User stale = user.toBuilder().name("stale").build();
+        user.setName("fresh");
+        userRepository.saveAndFlush(user);
+        assertThat(user.getVersion(), equalTo(1L));
+        assertThrows(OptimisticLockingFailureException.class, () -> userRepository.saveAndFlush(stale));
+    }
 }